@@ -0,0 +1,258 @@
+import groovy.transform.CompileStatic
+import groovy.transform.EqualsAndHashCode
+import groovy.transform.TupleConstructor
+import groovy.transform.TypeChecked
+
+import java.time.LocalDate
+import java.util.concurrent.ConcurrentHashMap
+import java.util.function.Function
+
+enum MediumStatus {
+    OPEN, IN_PROGRESS, BLOCKED, DONE
+
+    boolean isActive() {
+        this == OPEN || this == IN_PROGRESS
+    }
+}
+
+@TupleConstructor
+@EqualsAndHashCode(includes='id')
+class MediumTask {
+    long id
+    String title
+    String description
+    MediumStatus status = MediumStatus.OPEN
+    LocalDate due
+    Set<String> tags = new LinkedHashSet<>()
+    List<MediumComment> comments = []
+
+    MediumTask tag(String... names) {
+        tags.addAll(names)
+        this
+    }
+
+    MediumComment comment(String author, String text) {
+        def comment = new MediumComment(author: author, text: text, created: LocalDate.now())
+        comments << comment
+        comment
+    }
+
+    boolean isOverdue(LocalDate today = LocalDate.now()) {
+        due != null && status.active && due.isBefore(today)
+    }
+
+    @Override
+    String toString() {
+        "#$id [$status] $title${due ? " (due $due)" : ''}"
+    }
+}
+
+class MediumComment {
+    String author
+    String text
+    LocalDate created
+
+    int getWordCount() {
+        text?.split(/\s+/)?.length ?: 0
+    }
+}
+
+trait MediumAuditing {
+    private final List<String> log = []
+
+    void audit(String message) {
+        log.add("${LocalDate.now()}: $message".toString())
+    }
+
+    List<String> getAuditLog() {
+        Collections.unmodifiableList(log)
+    }
+}
+
+interface MediumRepository<T, ID> {
+    T save(T entity)
+    Optional<T> findById(ID id)
+    Collection<T> findAll()
+    boolean delete(ID id)
+}
+
+@CompileStatic
+class MediumTaskRepository implements MediumRepository<MediumTask, Long>, MediumAuditing {
+    private final Map<Long, MediumTask> store = new ConcurrentHashMap<>()
+    private long sequence
+
+    @Override
+    MediumTask save(MediumTask task) {
+        if (task.id == 0L) {
+            task.id = ++sequence
+        }
+        store.put(task.id, task)
+        audit("saved ${task.id}")
+        task
+    }
+
+    @Override
+    Optional<MediumTask> findById(Long id) {
+        Optional.ofNullable(store.get(id))
+    }
+
+    @Override
+    Collection<MediumTask> findAll() {
+        store.values()
+    }
+
+    @Override
+    boolean delete(Long id) {
+        audit("deleted $id")
+        store.remove(id) != null
+    }
+
+    List<MediumTask> findByStatus(MediumStatus status) {
+        store.values().findAll { MediumTask t -> t.status == status }.toList()
+    }
+
+    Map<String, List<MediumTask>> groupByTag() {
+        Map<String, List<MediumTask>> groups = [:].withDefault { [] } as Map<String, List<MediumTask>>
+        for (MediumTask task : store.values()) {
+            for (String tag : task.tags) {
+                groups[tag] << task
+            }
+        }
+        groups
+    }
+}
+
+@TypeChecked
+class MediumTaskService {
+    final MediumTaskRepository repository
+    final List<Closure> listeners = []
+
+    MediumTaskService(MediumTaskRepository repository) {
+        this.repository = repository
+    }
+
+    void onChange(Closure listener) {
+        listeners << listener
+    }
+
+    MediumTask create(String title, String description = null, LocalDate due = null) {
+        def task = repository.save(new MediumTask(0L, title, description, MediumStatus.OPEN, due))
+        fire('created', task)
+        task
+    }
+
+    MediumTask transition(long id, MediumStatus target) {
+        MediumTask task = repository.findById(id).orElseThrow { new NoSuchElementException("task $id") }
+        if (task.status == MediumStatus.DONE && target != MediumStatus.DONE) {
+            throw new IllegalStateException("task $id is already done")
+        }
+        task.status = target
+        repository.save(task)
+        fire('transitioned', task)
+        task
+    }
+
+    List<MediumTask> overdue(LocalDate today = LocalDate.now()) {
+        repository.findAll().findAll { it.isOverdue(today) }.sort { a, b -> a.due <=> b.due }
+    }
+
+    Map<MediumStatus, Integer> summary() {
+        MediumStatus.values().collectEntries { MediumStatus s ->
+            [(s): repository.findByStatus(s).size()]
+        }
+    }
+
+    String report() {
+        def writer = new StringWriter()
+        writer.withPrintWriter { PrintWriter out ->
+            summary().each { status, count ->
+                out.println "${status.name().padRight(12)}${count}"
+            }
+            overdue().each { task ->
+                out.println "OVERDUE ${task}"
+            }
+        }
+        writer.toString()
+    }
+
+    private void fire(String event, MediumTask task) {
+        listeners.each { Closure c -> c.call(event, task) }
+    }
+}
+
+class MediumQuery {
+    private final List<Function<MediumTask, Boolean>> predicates = []
+
+    static MediumQuery where(@DelegatesTo(MediumQuery) Closure spec) {
+        def query = new MediumQuery()
+        spec.delegate = query
+        spec.resolveStrategy = Closure.DELEGATE_FIRST
+        spec()
+        query
+    }
+
+    void status(MediumStatus expected) {
+        predicates << ({ MediumTask t -> t.status == expected } as Function<MediumTask, Boolean>)
+    }
+
+    void tagged(String tag) {
+        predicates << ({ MediumTask t -> tag in t.tags } as Function<MediumTask, Boolean>)
+    }
+
+    void dueBefore(LocalDate date) {
+        predicates << ({ MediumTask t -> t.due != null && t.due.isBefore(date) } as Function<MediumTask, Boolean>)
+    }
+
+    List<MediumTask> run(Collection<MediumTask> tasks) {
+        tasks.findAll { MediumTask task -> predicates.every { it.apply(task) } }.toList()
+    }
+}
+
+class MediumExporter {
+    String toCsv(Collection<MediumTask> tasks) {
+        def lines = ['id,title,status,due,tags']
+        tasks.sort(false) { it.id }.each { MediumTask task ->
+            lines << [task.id, quote(task.title), task.status, task.due ?: '', task.tags.join(';')].join(',')
+        }
+        lines.join('\n')
+    }
+
+    String toMarkdown(Collection<MediumTask> tasks) {
+        def sb = new StringBuilder('| id | title | status |\n|---|---|---|\n')
+        for (task in tasks) {
+            sb << "| ${task.id} | ${task.title} | ${task.status.name().toLowerCase().capitalize()} |\n"
+        }
+        sb.toString()
+    }
+
+    private static String quote(String value) {
+        value?.contains(',') ? "\"${value.replace('"', '""')}\"" : value
+    }
+}
+
+class MediumFixtures {
+    static void populate(MediumTaskService service) {
+        def today = LocalDate.now()
+        (1..20).each { int i ->
+            def task = service.create("Task $i", "Generated task number $i", today.plusDays(i - 10))
+            task.tag(i % 2 == 0 ? 'even' : 'odd', "group-${i % 3}")
+            if (i % 4 == 0) {
+                service.transition(task.id, MediumStatus.IN_PROGRESS)
+            } else if (i % 7 == 0) {
+                service.transition(task.id, MediumStatus.DONE)
+            }
+            task.comment('bot', "created with ${task.tags.size()} tags")
+        }
+    }
+
+    static Map<String, Object> stats(MediumTaskService service) {
+        def all = service.repository.findAll()
+        [
+            total   : all.size(),
+            overdue : service.overdue().size(),
+            words   : all.sum { MediumTask t -> t.comments.sum { MediumComment c -> c.wordCount } ?: 0 },
+            tags    : all*.tags.flatten().unique().sort(),
+            byStatus: service.summary().findAll { k, v -> v > 0 },
+        ]
+    }
+}
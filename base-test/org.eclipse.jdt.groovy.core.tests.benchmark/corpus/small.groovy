@@ -0,0 +1,42 @@
+import groovy.transform.CompileStatic
+import groovy.transform.ToString
+
+@ToString(includeNames=true)
+class Person {
+    String firstName
+    String lastName
+    int age
+
+    String getFullName() {
+        "$firstName $lastName"
+    }
+
+    boolean isAdult() {
+        age >= 18
+    }
+}
+
+@CompileStatic
+class Registry {
+    private final Map<String, Person> people = [:]
+
+    void register(Person person) {
+        people[person.fullName] = person
+    }
+
+    List<Person> adults() {
+        people.values().findAll { Person p -> p.adult }.sort { Person p -> p.age }
+    }
+
+    Optional<Person> find(String name) {
+        Optional.ofNullable(people.get(name))
+    }
+}
+
+def registry = new Registry()
+registry.register(new Person(firstName: 'Ada', lastName: 'Lovelace', age: 36))
+registry.register(new Person(firstName: 'Alan', lastName: 'Turing', age: 41))
+registry.register(new Person(firstName: 'Tim', lastName: 'Berners-Lee', age: 12))
+
+registry.adults().each { println it }
+assert registry.find('Ada Lovelace').present
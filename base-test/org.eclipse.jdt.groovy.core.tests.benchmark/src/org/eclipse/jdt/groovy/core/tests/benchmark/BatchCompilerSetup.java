@@ -0,0 +1,133 @@
+/*
+ * Copyright 2009-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.jdt.groovy.core.tests.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.core.runtime.FileLocator;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.jdt.internal.compiler.CompilationResult;
+import org.eclipse.jdt.internal.compiler.Compiler;
+import org.eclipse.jdt.internal.compiler.DefaultErrorHandlingPolicies;
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.batch.CompilationUnit;
+import org.eclipse.jdt.internal.compiler.batch.Main;
+import org.eclipse.jdt.internal.compiler.env.INameEnvironment;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory;
+import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
+
+/**
+ * Headless batch compiler configuration for one corpus file: the file is
+ * written to a temporary directory and compiled against the Groovy runtime
+ * jar of the {@code org.codehaus.groovy} bundle.
+ */
+final class BatchCompilerSetup {
+
+    final Corpus corpus;
+    final File sourceFile;
+    final String[] arguments;
+    final Map<String, String> options;
+
+    BatchCompilerSetup(final Corpus corpus) throws IOException {
+        this.corpus = corpus;
+
+        File sourceDir = Files.createTempDirectory("benchmark").toFile();
+        sourceDir.deleteOnExit();
+        sourceFile = new File(sourceDir, corpus.getFileName());
+        sourceFile.deleteOnExit();
+        Files.write(sourceFile.toPath(), corpus.getContents().getBytes(StandardCharsets.UTF_8));
+
+        arguments = new String[] {"-11", "-nowarn", "-proc:none", "-d", "none", "-cp", getGroovyJar(), sourceFile.getAbsolutePath()};
+
+        Main main = newMain();
+        main.configure(arguments);
+        options = new HashMap<>(main.options);
+        options.put(CompilerOptions.OPTIONG_BuildGroovyFiles, CompilerOptions.ENABLED);
+    }
+
+    Main newMain() {
+        PrintWriter out = new PrintWriter(Writer.nullWriter());
+        return new Main(out, out, false, null, null);
+    }
+
+    CompilerOptions newCompilerOptions() {
+        CompilerOptions compilerOptions = new CompilerOptions(options);
+        compilerOptions.performMethodsFullRecovery = false;
+        compilerOptions.performStatementsRecovery = false;
+        return compilerOptions;
+    }
+
+    ProblemReporter newProblemReporter(final CompilerOptions compilerOptions) {
+        return new ProblemReporter(DefaultErrorHandlingPolicies.proceedWithAllProblems(), compilerOptions, new DefaultProblemFactory());
+    }
+
+    CompilationResult newCompilationResult() {
+        return new CompilationResult(sourceFile.getAbsolutePath().toCharArray(), 0, 1, 100);
+    }
+
+    /**
+     * Creates a compiler whose units can be driven phase by phase.
+     */
+    PhasedCompiler newCompiler() {
+        Main main = newMain();
+        main.configure(arguments);
+        return new PhasedCompiler(main.getLibraryAccess(), newCompilerOptions(), main.getCompilationUnits());
+    }
+
+    private static String getGroovyJar() throws IOException {
+        Enumeration<URL> jars = Platform.getBundle("org.codehaus.groovy").findEntries("lib", "groovy-*.jar", false);
+        while (jars != null && jars.hasMoreElements()) {
+            URL jar = jars.nextElement();
+            if (jar.getPath().matches(".*/groovy-\\d[^/]*\\.jar") && !jar.getPath().endsWith("-sources.jar")) {
+                return new File(FileLocator.toFileURL(jar).getPath()).getAbsolutePath();
+            }
+        }
+        throw new IllegalStateException("Groovy runtime jar not found");
+    }
+
+    //--------------------------------------------------------------------------
+
+    static final class PhasedCompiler extends Compiler {
+
+        private final CompilationUnit[] sourceUnits;
+
+        PhasedCompiler(final INameEnvironment environment, final CompilerOptions options, final CompilationUnit[] sourceUnits) {
+            super(environment, DefaultErrorHandlingPolicies.proceedWithAllProblems(), options, result -> {}, new DefaultProblemFactory());
+            this.sourceUnits = sourceUnits;
+        }
+
+        /**
+         * Parses the source units (to the Groovy conversion phase) and builds
+         * their type bindings.
+         */
+        CompilationUnitDeclaration[] begin() {
+            beginToCompile(sourceUnits);
+            CompilationUnitDeclaration[] units = new CompilationUnitDeclaration[totalUnits];
+            System.arraycopy(unitsToProcess, 0, units, 0, totalUnits);
+            return units;
+        }
+    }
+}
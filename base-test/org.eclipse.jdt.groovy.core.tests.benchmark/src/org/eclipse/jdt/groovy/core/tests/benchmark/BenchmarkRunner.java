@@ -0,0 +1,61 @@
+/*
+ * Copyright 2009-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.jdt.groovy.core.tests.benchmark;
+
+import static org.junit.Assert.assertFalse;
+
+import java.util.Collection;
+
+import org.junit.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Runs the benchmarks inside the OSGi test runtime.  The benchmarks cannot be
+ * forked since they depend on the Groovy and JDT bundles and the workspace.
+ * <p>
+ * System properties:
+ * <ul>
+ * <li>{@code benchmark.include} -- regular expression of benchmarks to run</li>
+ * <li>{@code benchmark.corpus} -- comma-separated corpus sizes to run with</li>
+ * <li>{@code benchmark.result} -- path of the JSON result file</li>
+ * </ul>
+ */
+public final class BenchmarkRunner {
+
+    @Test
+    public void runBenchmarks() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(BenchmarkRunner.class.getPackageName() + ".*(" + System.getProperty("benchmark.include", ".*") + ")")
+            .param("corpus", System.getProperty("benchmark.corpus", "small,medium,huge").split(","))
+            .forks(0)
+            .warmupIterations(5)
+            .warmupTime(TimeValue.seconds(2))
+            .measurementIterations(10)
+            .measurementTime(TimeValue.seconds(2))
+            .resultFormat(ResultFormatType.JSON)
+            .result(System.getProperty("benchmark.result", "jmh-result.json"))
+            .shouldFailOnError(true)
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertFalse("No benchmarks matched " + System.getProperty("benchmark.include"), results.isEmpty());
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2009-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.jdt.groovy.core.tests.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.codehaus.groovy.control.Phases;
+import org.codehaus.jdt.groovy.internal.compiler.ast.GroovyCompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the batch compiler pipeline up to (and including) each Groovy
+ * compile phase.  {@code CONVERSION} covers parsing and building the JDT type
+ * bindings; {@code SEMANTIC_ANALYSIS} adds type resolution by the
+ * {@code JDTResolver}; later phases add transforms and code generation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CompilePhaseBenchmark {
+
+    @Param({"small", "medium", "huge"})
+    public String corpus;
+
+    @Param({"CONVERSION", "SEMANTIC_ANALYSIS", "CANONICALIZATION", "INSTRUCTION_SELECTION", "CLASS_GENERATION"})
+    public String phase;
+
+    private BatchCompilerSetup setup;
+    private int phaseNumber;
+
+    @Setup
+    public void setUp() throws IOException, ReflectiveOperationException {
+        setup = new BatchCompilerSetup(Corpus.of(corpus));
+        phaseNumber = Phases.class.getField(phase).getInt(null);
+    }
+
+    @Benchmark
+    public boolean processToPhase() {
+        BatchCompilerSetup.PhasedCompiler compiler = setup.newCompiler();
+        try {
+            boolean successful = true;
+            for (CompilationUnitDeclaration unit : compiler.begin()) {
+                if (unit instanceof GroovyCompilationUnitDeclaration) {
+                    successful &= ((GroovyCompilationUnitDeclaration) unit).processToPhase(phaseNumber);
+                }
+            }
+            return successful;
+        } finally {
+            compiler.reset();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2009-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.jdt.groovy.core.tests.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.core.runtime.Platform;
+
+/**
+ * Groovy sources the benchmarks are run against.  The small and medium files
+ * are checked in under {@code corpus/}; the huge one is derived from the medium
+ * one by repeating its types under different names, which yields a file on the
+ * order of the largest generated scripts seen in the wild.
+ */
+public enum Corpus {
+
+    SMALL("Small.groovy"),
+    MEDIUM("Medium.groovy"),
+    HUGE("Huge.groovy");
+
+    private static final int HUGE_COPIES = 30;
+
+    private final String fileName;
+    private String contents;
+
+    Corpus(final String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public synchronized String getContents() {
+        if (contents == null) {
+            if (this != HUGE) {
+                contents = read("corpus/" + name().toLowerCase() + ".groovy");
+            } else {
+                String[] lines = MEDIUM.getContents().split("\n");
+                String imports = Arrays.stream(lines).filter(line -> line.startsWith("import ")).collect(Collectors.joining("\n"));
+                String body = Arrays.stream(lines).filter(line -> !line.startsWith("import ")).collect(Collectors.joining("\n"));
+                contents = IntStream.range(0, HUGE_COPIES).mapToObj(i -> body.replace("Medium", "Huge" + i))
+                    .collect(Collectors.joining("\n", imports + "\n", "\n"));
+            }
+        }
+        return contents;
+    }
+
+    public static Corpus of(final String name) {
+        return valueOf(name.trim().toUpperCase());
+    }
+
+    private static String read(final String path) {
+        URL entry = Platform.getBundle("org.eclipse.jdt.groovy.core.tests.benchmark").getEntry(path);
+        try (InputStream stream = entry.openStream()) {
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read " + path, e);
+        }
+    }
+}
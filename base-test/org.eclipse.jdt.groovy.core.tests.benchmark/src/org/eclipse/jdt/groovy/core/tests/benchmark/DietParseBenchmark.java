@@ -0,0 +1,67 @@
+/*
+ * Copyright 2009-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.jdt.groovy.core.tests.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.codehaus.jdt.groovy.internal.compiler.ast.GroovyCompilationUnitDeclaration;
+import org.codehaus.jdt.groovy.internal.compiler.ast.GroovyParser;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures {@link GroovyParser#dietParse}: Groovy parsing and conversion to
+ * a module node, plus creation of the JDT type declarations.  Each operation
+ * uses a fresh parser, so class loader creation is included.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DietParseBenchmark {
+
+    @Param({"small", "medium", "huge"})
+    public String corpus;
+
+    private BatchCompilerSetup setup;
+    private char[] contents;
+    private String fileName;
+
+    @Setup
+    public void setUp() throws IOException {
+        setup = new BatchCompilerSetup(Corpus.of(corpus));
+        contents = setup.corpus.getContents().toCharArray();
+        fileName = setup.sourceFile.getAbsolutePath();
+    }
+
+    @Benchmark
+    public GroovyCompilationUnitDeclaration dietParse() {
+        CompilerOptions compilerOptions = setup.newCompilerOptions();
+        GroovyParser parser = new GroovyParser(compilerOptions, setup.newProblemReporter(compilerOptions), true, false);
+        try {
+            return parser.dietParse(contents, fileName, setup.newCompilationResult());
+        } finally {
+            parser.reset();
+        }
+    }
+}
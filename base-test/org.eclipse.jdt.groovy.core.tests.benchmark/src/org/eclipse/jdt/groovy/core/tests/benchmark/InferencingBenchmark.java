@@ -0,0 +1,115 @@
+/*
+ * Copyright 2009-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.jdt.groovy.core.tests.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.codehaus.groovy.eclipse.core.model.GroovyRuntime;
+import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
+import org.codehaus.jdt.groovy.model.GroovyNature;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceDescription;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.groovy.search.ITypeRequestor.VisitStatus;
+import org.eclipse.jdt.groovy.search.TypeInferencingVisitorFactory;
+import org.eclipse.jdt.launching.JavaRuntime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures a complete {@code TypeInferencingVisitorWithRequestor} visit of a
+ * working copy, as done by semantic highlighting or occurrence marking.  The
+ * module node is built once during setup, so only inferencing is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class InferencingBenchmark {
+
+    @Param({"small", "medium", "huge"})
+    public String corpus;
+
+    private IProject project;
+    private GroovyCompilationUnit unit;
+
+    @Setup
+    public void setUp() throws CoreException {
+        IWorkspace workspace = ResourcesPlugin.getWorkspace();
+        IWorkspaceDescription workspaceDescription = workspace.getDescription();
+        workspaceDescription.setAutoBuilding(false);
+        workspace.setDescription(workspaceDescription);
+
+        project = workspace.getRoot().getProject("Benchmark");
+        if (!project.exists()) {
+            project.create(null);
+        }
+        project.open(null);
+        IProjectDescription description = project.getDescription();
+        description.setNatureIds(new String[] {JavaCore.NATURE_ID, GroovyNature.GROOVY_NATURE});
+        project.setDescription(description, null);
+
+        IFolder src = project.getFolder("src");
+        if (!src.exists()) {
+            src.create(true, true, null);
+        }
+        JavaCore.create(project).setRawClasspath(new IClasspathEntry[] {
+            JavaCore.newSourceEntry(src.getFullPath()),
+            JavaCore.newContainerEntry(JavaRuntime.newDefaultJREContainerPath()),
+            GroovyRuntime.newGroovyClasspathContainerEntry(false, false, null),
+        }, project.getFolder("bin").getFullPath(), null);
+
+        Corpus source = Corpus.of(corpus);
+        IFile file = src.getFile(source.getFileName());
+        file.create(new ByteArrayInputStream(source.getContents().getBytes(StandardCharsets.UTF_8)), true, null);
+
+        unit = (GroovyCompilationUnit) JavaCore.createCompilationUnitFrom(file);
+        unit.becomeWorkingCopy(null);
+    }
+
+    @TearDown
+    public void tearDown() throws CoreException {
+        try {
+            unit.discardWorkingCopy();
+        } finally {
+            project.delete(true, true, null);
+        }
+    }
+
+    @Benchmark
+    public void visitCompilationUnit(final Blackhole blackhole) {
+        new TypeInferencingVisitorFactory().createVisitor(unit).visitCompilationUnit((node, result, element) -> {
+            blackhole.consume(result);
+            return VisitStatus.CONTINUE;
+        });
+    }
+}
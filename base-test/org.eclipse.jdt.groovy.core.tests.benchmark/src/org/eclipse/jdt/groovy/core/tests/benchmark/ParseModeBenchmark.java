@@ -0,0 +1,84 @@
+/*
+ * Copyright 2009-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.jdt.groovy.core.tests.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.codehaus.groovy.ast.ModuleNode;
+import org.codehaus.groovy.control.CompilationFailedException;
+import org.codehaus.groovy.control.SourceUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares parsing with SLL prediction first (falling back to LL) against LL
+ * prediction only.  Invalid sources have an unterminated class appended, so
+ * SLL fails at the end of the file and the two-stage parse pays for both
+ * passes.  Only parsing and AST building of the Groovy source unit is timed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ParseModeBenchmark {
+
+    private static final String LL_ONLY = "greclipse.parser.llOnly";
+
+    @Param({"small", "medium", "huge"})
+    public String corpus;
+
+    @Param({"SLL_FIRST", "LL_ONLY"})
+    public String mode;
+
+    @Param({"true", "false"})
+    public boolean valid;
+
+    private String fileName;
+    private String contents;
+
+    @Setup
+    public void setUp() {
+        Corpus source = Corpus.of(corpus);
+        fileName = source.getFileName();
+        contents = source.getContents();
+        if (!valid) {
+            contents += "\nclass Unterminated {\n";
+        }
+        System.setProperty(LL_ONLY, String.valueOf(mode.equals("LL_ONLY")));
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.clearProperty(LL_ONLY);
+    }
+
+    @Benchmark
+    public ModuleNode parse() {
+        SourceUnit unit = SourceUnit.create(fileName, contents, Integer.MAX_VALUE);
+        try {
+            unit.parse();
+            return unit.buildAST();
+        } catch (CompilationFailedException e) {
+            return unit.getAST();
+        }
+    }
+}
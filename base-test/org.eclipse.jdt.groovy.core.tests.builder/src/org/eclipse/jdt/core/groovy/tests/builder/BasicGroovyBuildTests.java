@@ -36,11 +36,13 @@ import org.codehaus.groovy.ast.ClassHelper;
 import org.codehaus.groovy.ast.ClassNode;
 import org.codehaus.groovy.ast.FieldNode;
 import org.codehaus.groovy.ast.GenericsType;
+import org.codehaus.groovy.ast.MethodNode;
 import org.codehaus.groovy.ast.PropertyNode;
 import org.codehaus.groovy.ast.expr.ConstructorCallExpression;
 import org.codehaus.groovy.ast.expr.Expression;
 import org.codehaus.groovy.ast.stmt.ReturnStatement;
 import org.codehaus.groovy.control.ResolveVisitor;
+import org.codehaus.jdt.groovy.internal.compiler.ast.JDTClassNode;
 import org.codehaus.jdt.groovy.internal.compiler.ast.JDTResolver;
 import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
 import org.codehaus.jdt.groovy.model.ModuleNodeMapper.ModuleNodeInfo;
@@ -58,6 +60,8 @@ import org.eclipse.jdt.groovy.core.Activator;
 import org.eclipse.jdt.groovy.core.util.ReflectionUtils;
 import org.eclipse.jdt.groovy.search.VariableScope;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.lookup.BinaryTypeBinding;
+import org.eclipse.jdt.internal.compiler.lookup.ReferenceBinding;
 import org.eclipse.jdt.internal.core.JavaModelManager;
 import org.eclipse.jdt.internal.core.builder.AbstractImageBuilder;
 import org.eclipse.jdt.launching.JavaRuntime;
@@ -371,6 +375,107 @@ public final class BasicGroovyBuildTests extends BuilderTestSuite {
         expectingNoProblems();
     }
 
+    @Test
+    public void testProjectCompilerConfigScript3() throws Exception {
+        IPath[] paths = createSimpleProject("Project", true);
+
+        //@formatter:off
+        env.addFile(paths[0], "config.groovy",
+            "withConfig(configuration) {\n" +
+            "  imports {\n" +
+            "    normal 'java.util.regex.Pattern'\n" +
+            "  }\n" +
+            "}\n");
+        //@formatter:on
+
+        Map<String, String> newOptions = JavaCore.getOptions();
+        newOptions.put(CompilerOptions.OPTIONG_GroovyCompilerConfigScript, "config.groovy");
+        JavaCore.setOptions((Hashtable<String, String>) newOptions);
+
+        env.addGroovyClass(paths[1], "foo", "Bar",
+            "package foo\n" +
+            "class Bar {\n" +
+            "  Pattern baz\n" +
+            "}\n");
+
+        incrementalBuild(paths[0]);
+        expectingCompiledClasses("foo.Bar");
+        expectingNoProblems();
+
+        // change the config script; cached configuration must not be reused
+        //@formatter:off
+        env.addFile(paths[0], "config.groovy",
+            "withConfig(configuration) {\n" +
+            "  imports {\n" +
+            "    normal 'java.util.regex.Pattern', 'java.util.regex.Matcher'\n" +
+            "  }\n" +
+            "}\n");
+        //@formatter:on
+
+        env.addGroovyClass(paths[1], "foo", "Bar",
+            "package foo\n" +
+            "class Bar {\n" +
+            "  Pattern baz\n" +
+            "  Matcher qux\n" +
+            "}\n");
+
+        incrementalBuild(paths[0]);
+        expectingCompiledClasses("foo.Bar");
+        expectingNoProblems();
+    }
+
+    @Test
+    public void testProjectCompilerConfigScript4() throws Exception {
+        IPath[] paths = createSimpleProject("Project", true);
+
+        //@formatter:off
+        env.addFile(paths[0], "config.groovy",
+            "import java.lang.reflect.Modifier\n" +
+            "import org.codehaus.groovy.ast.*\n" +
+            "import org.codehaus.groovy.ast.expr.*\n" +
+            "import org.codehaus.groovy.control.*\n" +
+            "import org.codehaus.groovy.transform.*\n" +
+            "@GroovyASTTransformation(phase=CompilePhase.CONVERSION)\n" +
+            "class Marker implements ASTTransformation {\n" +
+            "  void visit(ASTNode[] nodes, SourceUnit unit) {\n" +
+            "    unit.AST.classes.each {\n" +
+            "      it.addField('MARKED', Modifier.PUBLIC | Modifier.STATIC | Modifier.FINAL, ClassHelper.boolean_TYPE, new ConstantExpression(true))\n" +
+            "    }\n" +
+            "  }\n" +
+            "}\n" +
+            "withConfig(configuration) {\n" +
+            "  ast(new Marker())\n" +
+            "}\n");
+        //@formatter:on
+
+        Map<String, String> newOptions = JavaCore.getOptions();
+        newOptions.put(CompilerOptions.OPTIONG_GroovyCompilerConfigScript, "config.groovy");
+        JavaCore.setOptions((Hashtable<String, String>) newOptions);
+
+        env.addGroovyClass(paths[1], "foo", "Bar",
+            "package foo\n" +
+            "@groovy.transform.CompileStatic\n" +
+            "class Bar {\n" +
+            "  boolean m() { MARKED }\n" +
+            "}\n");
+
+        incrementalBuild(paths[0]);
+        expectingCompiledClasses("foo.Bar");
+        expectingNoProblems();
+
+        // global transform customizer applies once per compilation; it must not be shared by the next one
+        env.addGroovyClass(paths[1], "foo", "Baz",
+            "package foo\n" +
+            "@groovy.transform.CompileStatic\n" +
+            "class Baz {\n" +
+            "  boolean m() { MARKED }\n" +
+            "}\n");
+
+        incrementalBuild(paths[0]);
+        expectingCompiledClasses("foo.Baz");
+        expectingNoProblems();
+    }
+
     @Test // https://github.com/groovy/groovy-eclipse/issues/550
     public void testProjectBasedirAsOutputLocation() throws Exception {
         IPath prj = env.addProject("Project");
@@ -2841,6 +2946,40 @@ public final class BasicGroovyBuildTests extends BuilderTestSuite {
         assertEquals("Wrong ClassNode found", "java.net.URL", url.getName());
     }
 
+    @Test
+    public void testBinaryMembersMaterializedByName() throws Exception {
+        IPath[] paths = createSimpleProject("Project", true);
+
+        env.addGroovyClass(paths[1], "p", "Script",
+            "package p; println ''\n");
+        incrementalBuild(paths[0]);
+
+        GroovyCompilationUnit unit = (GroovyCompilationUnit) env.getJavaProject("Project").findType("p.Script").getCompilationUnit();
+        unit.becomeWorkingCopy(null);
+
+        ModuleNodeInfo moduleInfo = unit.getModuleInfo(true);
+        JDTResolver resolver = moduleInfo.resolver;
+        ReflectionUtils.setPrivateField(ResolveVisitor.class, "currentClass", resolver, moduleInfo.module.getScriptClassDummy());
+        ClassNode uri = resolver.resolve("java.net.URI");
+        assertTrue(uri instanceof JDTClassNode);
+
+        assertEquals(1, uri.getDeclaredMethods("toURL").size());
+        assertNotNull(uri.getDeclaredField("path"));
+        // only the requested members have nodes so far
+        JDTClassNode node = (JDTClassNode) uri;
+        assertEquals(2, node.getMaterializedMemberCount());
+
+        // repeated requests and full initialization reuse the members created so far
+        MethodNode toURL = uri.getDeclaredMethods("toURL").get(0);
+        assertEquals(2, node.getMaterializedMemberCount());
+        assertTrue(uri.getMethods().contains(toURL));
+        assertTrue(uri.getFields().contains(uri.getDeclaredField("path")));
+        ReferenceBinding binding = node.getJdtBinding();
+        int available = binding.methods().length + ((BinaryTypeBinding) binding).infraMethods().length + binding.fields().length;
+        assertEquals(available, uri.getMethods().size() + uri.getDeclaredConstructors().size() + uri.getFields().size());
+        assertEquals(available, node.getMaterializedMemberCount());
+    }
+
     @Test // https://github.com/groovy/groovy-eclipse/issues/737
     public void testNoResolveFailurePropagation1() throws Exception {
         IPath[] paths = createSimpleProject("Project", true);
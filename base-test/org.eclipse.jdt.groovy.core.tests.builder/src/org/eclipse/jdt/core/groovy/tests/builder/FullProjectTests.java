@@ -1,5 +1,5 @@
 /*
- * Copyright 2009-2022 the original author or authors.
+ * Copyright 2009-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,10 +15,16 @@
  */
 package org.eclipse.jdt.core.groovy.tests.builder;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 import org.codehaus.groovy.ast.ClassNode;
 import org.codehaus.groovy.ast.MethodNode;
+import org.codehaus.groovy.control.CompilationUnit;
+import org.codehaus.groovy.control.Phases;
+import org.codehaus.groovy.control.SourceUnit;
+import org.codehaus.groovy.tools.GroovyClass;
 import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.jdt.core.ICompilationUnit;
@@ -313,4 +319,54 @@ public final class FullProjectTests extends BuilderTestSuite {
             "## exception in phase 'canonicalization' in source unit '##' xform fails" +
             " [ resource : </Two/tests/foo/Baz.groovy> range : <0,1> category : <60> severity : <2>]"));
     }
+
+    @Test // class file recording should look only at the classes of each source unit
+    public void testClassesAreRecordedBySourceUnit() throws Exception {
+        CompilationUnit unit = new CompilationUnit();
+        List<SourceUnit> sources = new ArrayList<>();
+        for (int i = 0; i < 3; i += 1) {
+            sources.add(unit.addSource("C" + i + ".groovy",
+                "package p\n" +
+                "class C" + i + " {\n" +
+                "  def m() { [1, 2, 3].collect { it * " + i + " } }\n" +
+                "  static class Inner { String s }\n" +
+                "}\n"));
+        }
+        unit.compile(Phases.CLASS_GENERATION);
+
+        int total = 0;
+        for (int i = 0; i < 3; i += 1) {
+            List<GroovyClass> classes = unit.getClasses(sources.get(i));
+            Assert.assertEquals(3, classes.size()); // C, C$Inner and C$_m_closure1
+            for (GroovyClass groovyClass : classes) {
+                Assert.assertTrue(groovyClass.getName(), groovyClass.getName().matches("p\\.C" + i + "(\\$.+)?"));
+            }
+            total += classes.size();
+        }
+        Assert.assertEquals(unit.getClasses().size(), total);
+
+        Assert.assertTrue(unit.getClasses(new SourceUnit("Other.groovy", "", unit.getConfiguration(), null, unit.getErrorCollector())).isEmpty());
+    }
+
+    @Test
+    public void testBuildRecordsClassesOfEachSourceUnit() throws Exception {
+        IPath prj = env.addProject("Project");
+        env.addGroovyJars(prj);
+        IPath src = env.getPackageFragmentRootPath(prj, "src");
+        for (int i = 0; i < 3; i += 1) {
+            env.addGroovyClass(src, "p", "C" + i,
+                "package p\n" +
+                "class C" + i + " {\n" +
+                "  def m() { [1, 2, 3].collect { it * " + i + " } }\n" +
+                "  static class Inner { String s }\n" +
+                "}\n");
+        }
+        env.fullBuild(prj);
+
+        expectingNoProblemsFor(prj);
+        expectingCompiledClasses(
+            "p.C0", "p.C0$Inner", "p.C0$_m_closure1",
+            "p.C1", "p.C1$Inner", "p.C1$_m_closure1",
+            "p.C2", "p.C2$Inner", "p.C2$_m_closure1");
+    }
 }
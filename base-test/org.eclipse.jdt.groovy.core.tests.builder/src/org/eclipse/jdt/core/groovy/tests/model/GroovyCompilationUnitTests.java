@@ -1,5 +1,5 @@
 /*
- * Copyright 2009-2021 the original author or authors.
+ * Copyright 2009-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -182,10 +182,12 @@ public final class GroovyCompilationUnitTests extends GroovyTypeRootTestSuite {
     public void testGetModuleNode8() throws Exception {
         IFile groovyFile = createSimpleGroovyProject();
         GroovyCompilationUnit unit = Adapters.adapt(groovyFile, GroovyCompilationUnit.class);
+        long hits = ModuleNodeMapper.getClosedUnitCacheHits();
         ModuleNode node1 = unit.getModuleNode();
         ModuleNode node2 = unit.getModuleNode();
 
-        assertNotSame("getModuleNode() should return the different objects if unit is not a working copy", node1, node2);
+        assertSame("getModuleNode() should return the cached object if unit is not a working copy and nothing has changed", node1, node2);
+        assertEquals(hits + 1, ModuleNodeMapper.getClosedUnitCacheHits());
     }
 
     @Test
@@ -224,6 +226,79 @@ public final class GroovyCompilationUnitTests extends GroovyTypeRootTestSuite {
         assertNotSame("getNewModuleNode() should have forced creation of a new module node", module1, module2);
     }
 
+    @Test
+    public void testGetModuleNode12() throws Exception {
+        IFile groovyFile = createSimpleGroovyProject();
+        GroovyCompilationUnit unit = Adapters.adapt(groovyFile, GroovyCompilationUnit.class);
+        ModuleNode node1 = unit.getModuleNode();
+        groovyFile.touch(null);
+        long misses = ModuleNodeMapper.getClosedUnitCacheMisses();
+        ModuleNode node2 = unit.getModuleNode();
+
+        assertNotSame("getModuleNode() should return a different object if the resource has changed", node1, node2);
+        assertEquals(misses + 1, ModuleNodeMapper.getClosedUnitCacheMisses());
+    }
+
+    @Test
+    public void testGetModuleNode13() throws Exception {
+        IFile groovyFile = createSimpleGroovyProject();
+        GroovyCompilationUnit unit = Adapters.adapt(groovyFile, GroovyCompilationUnit.class);
+        ModuleNode node1 = unit.getModuleNode();
+        fullBuild(groovyFile.getProject().getFullPath());
+        ModuleNode node2 = unit.getModuleNode();
+
+        assertNotSame("getModuleNode() should return a different object after a clean build", node1, node2);
+    }
+
+    @Test
+    public void testGetModuleNode14() throws Exception {
+        IPath src = createEmptyGroovyProject();
+        env.addGroovyClass(src, "p", "Super", "package p\nclass Super {\n  def m() {}\n}\n");
+        GroovyCompilationUnit unit = env.getUnit(env.addGroovyClass(src, "p", "Sub", "package p\nclass Sub extends Super {\n  def n() { m() }\n}\n"));
+        ModuleNode node1 = unit.getModuleNode();
+        env.addGroovyClass(src, "p", "Super", "package p\nclass Super {\n  String m() {}\n}\n");
+        ModuleNode node2 = unit.getModuleNode();
+
+        assertNotSame("getModuleNode() should return a different object if a source it depends on has changed", node1, node2);
+    }
+
+    @Test
+    public void testGetModuleNode15() throws Exception {
+        IPath src = createEmptyGroovyProject();
+        GroovyCompilationUnit dependency = env.getUnit(env.addGroovyClass(src, "p", "Super", "package p\nclass Super {\n  def m() {}\n}\n"));
+        GroovyCompilationUnit unit = env.getUnit(env.addGroovyClass(src, "p", "Sub", "package p\nclass Sub extends Super {\n  def n() { m() }\n}\n"));
+        ModuleNode node1 = unit.getModuleNode();
+        dependency.becomeWorkingCopy(null);
+        try {
+            ModuleNode node2 = unit.getModuleNode();
+            assertSame("getModuleNode() should return the cached object if a source it depends on has become a working copy", node1, node2);
+
+            dependency.getBuffer().setContents("package p\nclass Super {\n  String m() {}\n}\n");
+            dependency.reconcile(ICompilationUnit.NO_AST, false, null, null);
+            ModuleNode node3 = unit.getModuleNode();
+            assertNotSame("getModuleNode() should return a different object if a working copy it depends on has changed", node1, node3);
+        } finally {
+            dependency.discardWorkingCopy();
+        }
+    }
+
+    @Test
+    public void testGetModuleNode16() throws Exception {
+        IPath src1 = createEmptyGroovyProject();
+        env.addGroovyClass(src1, "p", "Super", "package p\nclass Super {\n  def m() {}\n}\n");
+
+        IPath project2 = env.addProject("Project2");
+        env.addGroovyJars(project2);
+        env.addRequiredProject(project2, src1.removeLastSegments(1));
+        IPath src2 = env.getPackageFragmentRootPath(project2, "src");
+        GroovyCompilationUnit unit = env.getUnit(env.addGroovyClass(src2, "q", "Sub", "package q\nclass Sub extends p.Super {\n  def n() { m() }\n}\n"));
+        ModuleNode node1 = unit.getModuleNode();
+        env.addGroovyClass(src1, "p", "Super", "package p\nclass Super {\n  String m() {}\n}\n");
+        ModuleNode node2 = unit.getModuleNode();
+
+        assertNotSame("getModuleNode() should return a different object if a source in a required project has changed", node1, node2);
+    }
+
     @Test
     public void testMarkerAnnotation1() throws Exception {
         IPath src = createAnnotationGroovyProject();
@@ -17,6 +17,14 @@ package org.eclipse.jdt.core.groovy.tests.search;
 
 import static org.eclipse.jdt.groovy.core.tests.GroovyBundle.isAtLeastGroovy;
 
+import java.util.List;
+import java.util.Set;
+
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.ast.MethodNode;
+import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
+import org.eclipse.jdt.groovy.search.VariableScope;
+import org.junit.Assert;
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -1198,4 +1206,18 @@ public final class DGMInferencingTests extends InferencingTestSuite {
         //@formatter:on
         assertDeclType(contents, "invokeMethod", "Reflections"); // not DefaultGroovyMethods
     }
+
+    @Test
+    public void testDefaultCategoryIndexIsShared() {
+        GroovyCompilationUnit one = createUnit("One", "1.with { it }");
+        GroovyCompilationUnit two = createUnit("Two", "'2'.with { it }");
+
+        Set<ClassNode> oneCategories = new VariableScope(null, one.getModuleNode(), false).getCategoryNames();
+        Set<ClassNode> twoCategories = new VariableScope(null, two.getModuleNode(), false).getCategoryNames();
+        Assert.assertSame(oneCategories, twoCategories);
+
+        List<MethodNode> with = new VariableScope(null, one.getModuleNode(), false).getCategoryMethods("with");
+        Assert.assertFalse(with.isEmpty());
+        Assert.assertTrue(with.stream().allMatch(m -> m.isStatic() && m.getName().equals("with")));
+    }
 }
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2009-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.jdt.core.groovy.tests.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.internal.core.search.JavaSearchDocument;
+import org.eclipse.jdt.internal.core.search.indexing.SourceIndexer;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Verifies that the indexing parse produces the same index entries as a full
+ * parse of the source.
+ */
+public final class IndexingParserTests extends SearchTestSuite {
+
+    private static final String FULL_PARSE = "greclipse.indexer.fullParse";
+
+    @After
+    public void tearDown() {
+        System.clearProperty(FULL_PARSE);
+    }
+
+    private void assertSameIndexEntries(final GroovyCompilationUnit unit) {
+        waitUntilReady(unit);
+        String path = unit.getResource().getFullPath().toPortableString();
+
+        System.setProperty(FULL_PARSE, "true");
+        List<String> fullParseEntries = index(path);
+
+        System.clearProperty(FULL_PARSE);
+        List<String> indexingParseEntries = index(path);
+
+        assertFalse("Expected index entries for " + path, fullParseEntries.isEmpty());
+        assertEquals(String.join("\n", fullParseEntries), String.join("\n", indexingParseEntries));
+    }
+
+    private static List<String> index(final String path) {
+        List<String> entries = new ArrayList<>();
+        JavaSearchDocument document = new JavaSearchDocument(path, SearchEngine.getDefaultSearchParticipant()) {
+            @Override
+            public void addIndexEntry(final char[] category, final char[] key) {
+                entries.add(String.valueOf(category) + "/" + String.valueOf(key));
+            }
+        };
+        new SourceIndexer(document).indexDocument();
+        return entries;
+    }
+
+    //--------------------------------------------------------------------------
+
+    @Test
+    public void testClass() {
+        assertSameIndexEntries(createUnit("p", "C",
+            "package p\n" +
+            "import java.util.regex.*\n" +
+            "import static java.util.Collections.emptyList\n" +
+            "@groovy.transform.ToString\n" +
+            "class C<T extends Number> extends ArrayList<T> implements Comparable<C>, Serializable {\n" +
+            "  static final Pattern PATTERN = ~/x/\n" +
+            "  private T value\n" +
+            "  String name\n" +
+            "  C() { this(null) }\n" +
+            "  C(T value) { this.value = value }\n" +
+            "  int compareTo(C that) {\n" +
+            "    Matcher m = PATTERN.matcher(name)\n" +
+            "    return value <=> that.value\n" +
+            "  }\n" +
+            "  def <U> List<U> convert(Closure<U> c = { it -> null }) {\n" +
+            "    List<U> list = emptyList()\n" +
+            "    list.each { U u -> println u.toString() }\n" +
+            "    return list\n" +
+            "  }\n" +
+            "  static class Inner {\n" +
+            "    def x = new Object() {\n" +
+            "      String toString() { 'anon' }\n" +
+            "    }\n" +
+            "  }\n" +
+            "}\n"));
+    }
+
+    @Test
+    public void testEnum() {
+        assertSameIndexEntries(createUnit("p", "E",
+            "package p\n" +
+            "enum E {\n" +
+            "  ONE(1), TWO(2) {\n" +
+            "    int plus(int n) { n + 2 }\n" +
+            "  }\n" +
+            "  final int value\n" +
+            "  E(int value) { this.value = value }\n" +
+            "  int plus(int n) { value + n }\n" +
+            "}\n"));
+    }
+
+    @Test
+    public void testInterfaceAndTrait() {
+        assertSameIndexEntries(createUnit("p", "T",
+            "package p\n" +
+            "interface I {\n" +
+            "  String CONST = 'c'\n" +
+            "  def m(String s)\n" +
+            "}\n" +
+            "@interface A {\n" +
+            "  Class<?> value() default Object\n" +
+            "}\n" +
+            "@A(I)\n" +
+            "trait T implements I {\n" +
+            "  int count\n" +
+            "  def m(String s) { count += s.length() }\n" +
+            "  abstract void n()\n" +
+            "}\n"));
+    }
+
+    @Test
+    public void testScript() {
+        assertSameIndexEntries(createUnit("S",
+            "import groovy.transform.Field\n" +
+            "@Field List<String> names = []\n" +
+            "def greet(String name) {\n" +
+            "  names << name\n" +
+            "  \"Hello, $name\"\n" +
+            "}\n" +
+            "println greet(new Date().toString())\n" +
+            "class Helper { static int twice(int i) { i * 2 } }\n" +
+            "assert Helper.twice(2) == 4\n"));
+    }
+
+    @Test
+    public void testSyntaxError() {
+        assertSameIndexEntries(createUnit("p", "X",
+            "package p\n" +
+            "class X {\n" +
+            "  String name\n" +
+            "  def m() {\n" +
+            "    name.\n" +
+            "  }\n" +
+            "}\n" +
+            "class Y extends X {\n"));
+    }
+}
@@ -18,17 +18,30 @@ package org.eclipse.jdt.core.groovy.tests.search;
 import static org.eclipse.jdt.groovy.core.tests.GroovyBundle.isAtLeastGroovy;
 import static org.eclipse.jdt.groovy.core.tests.GroovyBundle.isParrotParser;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assume.assumeTrue;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.codehaus.groovy.ast.ASTNode;
 import org.codehaus.groovy.ast.MethodNode;
+import org.codehaus.jdt.groovy.internal.compiler.GroovyClassLoaderFactory;
+import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
+import org.eclipse.jdt.groovy.core.util.JavaConstants;
+import org.eclipse.jdt.groovy.search.ITypeRequestor;
+import org.eclipse.jdt.groovy.search.InferenceResultStore;
 import org.eclipse.jdt.groovy.search.TypeInferencingVisitorFactory;
 import org.eclipse.jdt.groovy.search.TypeInferencingVisitorWithRequestor;
+import org.eclipse.jdt.groovy.search.TypeLookupResult;
 import org.junit.Test;
 
 public final class InferencingTests extends InferencingTestSuite {
@@ -52,6 +65,151 @@ public final class InferencingTests extends InferencingTestSuite {
 
     //--------------------------------------------------------------------------
 
+    @Test
+    public void testReplayRecordedResults() throws Exception {
+        GroovyCompilationUnit unit = createUnit(DEFAULT_UNIT_NAME, "def x = [1, 2].collect { it * 2 }\nx.size()\n");
+        unit.becomeWorkingCopy(null);
+        try {
+            List<ASTNode> visited = new ArrayList<>();
+            List<TypeLookupResult> results = new ArrayList<>();
+            new TypeInferencingVisitorFactory().createVisitor(unit).replayCompilationUnit((node, result, element) -> {
+                visited.add(node);
+                results.add(result);
+                return ITypeRequestor.VisitStatus.CONTINUE;
+            });
+            assertNotNull(unit.getModuleInfo(true).getInferenceResults());
+
+            List<ASTNode> replayed = new ArrayList<>();
+            new TypeInferencingVisitorFactory().createVisitor(unit).replayCompilationUnit((node, result, element) -> {
+                assertSame(results.get(replayed.size()), result);
+                replayed.add(node);
+                return ITypeRequestor.VisitStatus.CONTINUE;
+            });
+            assertEquals(visited, replayed);
+        } finally {
+            unit.discardWorkingCopy();
+        }
+    }
+
+    @Test
+    public void testInvalidateRecordedResults() throws Exception {
+        GroovyCompilationUnit unit = createUnit(DEFAULT_UNIT_NAME, "def x = [1, 2].collect { it * 2 }\nx.size()\n");
+        unit.becomeWorkingCopy(null);
+        try {
+            List<TypeLookupResult> results = new ArrayList<>();
+            new TypeInferencingVisitorFactory().createVisitor(unit).replayCompilationUnit((node, result, element) -> {
+                results.add(result);
+                return ITypeRequestor.VisitStatus.CONTINUE;
+            });
+            assertNotNull(unit.getModuleInfo(true).getInferenceResults());
+
+            // type lookups, DSLDs or classpath changed
+            InferenceResultStore.invalidateAll();
+            assertNull(unit.getModuleInfo(true).getInferenceResults());
+
+            List<TypeLookupResult> revisited = new ArrayList<>();
+            new TypeInferencingVisitorFactory().createVisitor(unit).replayCompilationUnit((node, result, element) -> {
+                revisited.add(result);
+                return ITypeRequestor.VisitStatus.CONTINUE;
+            });
+            assertEquals(results.size(), revisited.size());
+            assertNotSame(results.get(0), revisited.get(0));
+            assertNotNull(unit.getModuleInfo(true).getInferenceResults());
+        } finally {
+            unit.discardWorkingCopy();
+        }
+    }
+
+    @Test
+    public void testInvalidateRecordedResultsByProject() throws Exception {
+        GroovyCompilationUnit unit = createUnit(DEFAULT_UNIT_NAME, "def x = [1, 2].collect { it * 2 }\nx.size()\n");
+        unit.becomeWorkingCopy(null);
+        try {
+            new TypeInferencingVisitorFactory().createVisitor(unit).replayCompilationUnit((node, result, element) -> ITypeRequestor.VisitStatus.CONTINUE);
+            assertNotNull(unit.getModuleInfo(true).getInferenceResults());
+
+            // classpath of another project changed
+            GroovyClassLoaderFactory.clearCache(unit.getJavaProject().getElementName() + "X");
+            assertNotNull(unit.getModuleInfo(true).getInferenceResults());
+
+            // classpath of this project changed
+            GroovyClassLoaderFactory.clearCache(unit.getJavaProject().getElementName());
+            assertNull(unit.getModuleInfo(true).getInferenceResults());
+        } finally {
+            unit.discardWorkingCopy();
+        }
+    }
+
+    @Test
+    public void testRetainRecordedResults() throws Exception {
+        String contents = "class C {\n  def a() { 'a'.length() }\n  def b() { c() }\n  def c() { 1 }\n}\n";
+        GroovyCompilationUnit unit = createUnit(DEFAULT_UNIT_NAME, contents);
+        unit.becomeWorkingCopy(null);
+        try {
+            Map<String, TypeLookupResult> before = new HashMap<>();
+            new TypeInferencingVisitorFactory().createVisitor(unit).replayCompilationUnit((node, result, element) -> {
+                before.putIfAbsent(element.getElementName(), result);
+                return ITypeRequestor.VisitStatus.CONTINUE;
+            });
+
+            // edit the body of c()
+            unit.getBuffer().replace(contents.lastIndexOf('1'), 1, "2");
+            unit.reconcile(JavaConstants.AST_LEVEL, true, null, null);
+            assertNotNull(unit.getModuleInfo(true).getRetainedInferenceResults());
+
+            Map<String, TypeLookupResult> after = new HashMap<>();
+            new TypeInferencingVisitorFactory().createVisitor(unit).replayCompilationUnit(ITypeRequestor.acceptingCarriedResults((node, result, element) -> {
+                after.putIfAbsent(element.getElementName(), result);
+                return ITypeRequestor.VisitStatus.CONTINUE;
+            }));
+            assertSame(before.get("a"), after.get("a"));
+            assertNotSame(before.get("b"), after.get("b")); // refers to c()
+            assertNotSame(before.get("c"), after.get("c"));
+            assertTrue(unit.getModuleInfo(true).getInferenceResults().hasCarriedResults());
+
+            // edit the body of c() again; results of a() are not carried twice
+            unit.getBuffer().replace(contents.lastIndexOf('1'), 1, "3");
+            unit.reconcile(JavaConstants.AST_LEVEL, true, null, null);
+
+            Map<String, TypeLookupResult> again = new HashMap<>();
+            new TypeInferencingVisitorFactory().createVisitor(unit).replayCompilationUnit(ITypeRequestor.acceptingCarriedResults((node, result, element) -> {
+                again.putIfAbsent(element.getElementName(), result);
+                return ITypeRequestor.VisitStatus.CONTINUE;
+            }));
+            assertNotSame(after.get("a"), again.get("a"));
+        } finally {
+            unit.discardWorkingCopy();
+        }
+    }
+
+    @Test
+    public void testCarriedResultsNotAccepted() throws Exception {
+        String contents = "class C {\n  def a() { 'a'.length() }\n  def c() { 1 }\n}\n";
+        GroovyCompilationUnit unit = createUnit(DEFAULT_UNIT_NAME, contents);
+        unit.becomeWorkingCopy(null);
+        try {
+            new TypeInferencingVisitorFactory().createVisitor(unit).replayCompilationUnit((node, result, element) -> ITypeRequestor.VisitStatus.CONTINUE);
+
+            // edit the body of c()
+            unit.getBuffer().replace(contents.lastIndexOf('1'), 1, "2");
+            unit.reconcile(JavaConstants.AST_LEVEL, true, null, null);
+            new TypeInferencingVisitorFactory().createVisitor(unit).replayCompilationUnit(ITypeRequestor.acceptingCarriedResults((node, result, element) -> ITypeRequestor.VisitStatus.CONTINUE));
+            assertTrue(unit.getModuleInfo(true).getInferenceResults().hasCarriedResults());
+
+            MethodNode a = unit.getModuleNode().getClasses().get(0).getMethods("a").get(0);
+            List<ASTNode> visited = new ArrayList<>();
+            // requestors do not accept carried results unless they opt in
+            new TypeInferencingVisitorFactory().createVisitor(unit).replayCompilationUnit((node, result, element) -> {
+                visited.add(node);
+                return ITypeRequestor.VisitStatus.CONTINUE;
+            });
+            assertTrue(visited.contains(a.getCode()));
+            assertFalse(unit.getModuleInfo(true).getInferenceResults().hasCarriedResults());
+        } finally {
+            unit.discardWorkingCopy();
+        }
+    }
+
     @Test
     public void testNumber1() {
         assertType("10", "java.lang.Integer");
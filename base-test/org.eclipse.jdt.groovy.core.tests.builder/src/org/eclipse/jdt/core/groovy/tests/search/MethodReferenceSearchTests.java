@@ -1,5 +1,5 @@
 /*
- * Copyright 2009-2023 the original author or authors.
+ * Copyright 2009-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,16 +18,21 @@ package org.eclipse.jdt.core.groovy.tests.search;
 import static org.eclipse.jdt.groovy.core.tests.GroovyBundle.isAtLeastGroovy;
 import static org.junit.Assert.assertEquals;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.search.IJavaSearchConstants;
 import org.eclipse.jdt.core.search.SearchEngine;
 import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
 import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.SearchRequestor;
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -999,6 +1004,21 @@ public final class MethodReferenceSearchTests extends SearchTestSuite {
         assertEquals("Bar.groovy", ((IJavaElement) matches.get(0).getElement()).getResource().getName());
     }
 
+    @Test
+    public void testMethodReferencesReportedInOrder1() throws Exception {
+        doTestForMethodReferencesInOrder();
+    }
+
+    @Test
+    public void testMethodReferencesReportedInOrder2() throws Exception {
+        System.setProperty("greclipse.search.threads", "2");
+        try {
+            doTestForMethodReferencesInOrder();
+        } finally {
+            System.clearProperty("greclipse.search.threads");
+        }
+    }
+
     //--------------------------------------------------------------------------
 
     private void doTestForTwoMethodReferencesInClass(String secondContents) throws Exception {
@@ -1034,4 +1054,28 @@ public final class MethodReferenceSearchTests extends SearchTestSuite {
         SearchPattern pattern = SearchPattern.createPattern(firstMethod, IJavaSearchConstants.REFERENCES);
         checkMatches(secondContents, match, pattern, second, firstMatchEnclosingElement, secondMatchEnclosingElement);
     }
+
+    private void doTestForMethodReferencesInOrder() throws Exception {
+        createUnit("p", "First", "package p\nclass First {\n  def xxx() {}\n}\n");
+        createUnit("p", "A", "package p\nclass A {\n  def m(First f) {\n    f.xxx()\n  }\n}\n");
+        createJavaUnit("p", "B", "package p;\npublic class B {\n  void m(First f) {\n    f.xxx();\n  }\n}\n");
+        createUnit("p", "C", "package p\nclass C {\n  def m(First f) {\n    f.xxx()\n    f.xxx()\n  }\n}\n");
+        createJavaUnit("p", "D", "package p;\npublic class D {\n  void m(First f) {\n    f.xxx();\n  }\n}\n");
+
+        // matches are reported in the order of the source files, whether or not the groovy files are searched concurrently
+        List<String> names = new ArrayList<>();
+        new SearchEngine().search(
+            SearchPattern.createPattern("xxx", IJavaSearchConstants.METHOD, IJavaSearchConstants.REFERENCES, SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE),
+            new SearchParticipant[] {SearchEngine.getDefaultSearchParticipant()},
+            SearchEngine.createJavaSearchScope(new IJavaElement[] {JavaCore.create(project)}),
+            new SearchRequestor() {
+                @Override
+                public void acceptSearchMatch(final SearchMatch match) {
+                    names.add(match.getResource().getName());
+                }
+            },
+            null);
+
+        assertEquals(Arrays.asList("A.groovy", "B.java", "C.groovy", "C.groovy", "D.java"), names);
+    }
 }
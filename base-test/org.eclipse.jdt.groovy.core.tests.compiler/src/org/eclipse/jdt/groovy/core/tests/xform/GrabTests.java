@@ -1,5 +1,5 @@
 /*
- * Copyright 2009-2023 the original author or authors.
+ * Copyright 2009-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,6 +15,32 @@
  */
 package org.eclipse.jdt.groovy.core.tests.xform;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+
+import groovy.grape.GrabResolutionCache;
+import groovy.grape.Grape;
+import groovy.lang.GroovyClassLoader;
+
+import org.codehaus.groovy.control.CompilationFailedException;
+import org.codehaus.groovy.control.CompilationUnit;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.control.Phases;
+import org.codehaus.groovy.control.messages.Message;
+import org.codehaus.groovy.control.messages.SyntaxErrorMessage;
 import org.eclipse.jdt.groovy.core.tests.basic.GroovyCompilerTestSuite;
 import org.junit.Test;
 
@@ -23,6 +49,46 @@ import org.junit.Test;
  */
 public final class GrabTests extends GroovyCompilerTestSuite {
 
+    /**
+     * Compiles {@code source} against a new loader that shares {@code cache}.
+     *
+     * @return the loader's URLs followed by the error messages
+     */
+    private static List<String> compileWithCache(GrabResolutionCache cache, String source) throws IOException {
+        class CachingLoader extends GroovyClassLoader implements GrabResolutionCache.Provider {
+            @Override
+            public GrabResolutionCache getGrabResolutionCache() {
+                return cache;
+            }
+        }
+        try (GroovyClassLoader loader = new CachingLoader()) {
+            CompilationUnit unit = new CompilationUnit(CompilerConfiguration.DEFAULT, null, loader);
+            unit.addSource("Test.groovy", source);
+            try {
+                unit.compile(Phases.SEMANTIC_ANALYSIS);
+            } catch (CompilationFailedException expected) {
+            }
+            List<String> result = Arrays.stream(loader.getURLs()).map(Object::toString).collect(Collectors.toList());
+            for (Message message : unit.getErrorCollector().getErrors()) {
+                result.add(message instanceof SyntaxErrorMessage ? ((SyntaxErrorMessage) message).getCause().getMessage() : message.toString());
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Runs {@code task} with grapes disabled, so that only cached resolutions are available.
+     */
+    private static <T> T withoutGrapes(Callable<T> task) throws Exception {
+        boolean enabled = Grape.getEnableGrapes();
+        Grape.setEnableGrapes(false);
+        try {
+            return task.call();
+        } finally {
+            Grape.setEnableGrapes(enabled);
+        }
+    }
+
     @Test
     public void testGrab() {
         //@formatter:off
@@ -144,4 +210,70 @@ public final class GrabTests extends GroovyCompilerTestSuite {
 
         runNegativeTest(sources, "");
     }
+
+    @Test
+    public void testGrabResolutionCached() throws Exception {
+        String source = "@Grab('joda-time:joda-time:2.12.5;transitive=false')\n" +
+            "import org.joda.time.DateTime\n" +
+            "def now = new DateTime()\n";
+        GrabResolutionCache cache = new GrabResolutionCache();
+
+        List<String> result = compileWithCache(cache, source);
+        assertEquals(1, cache.size());
+        assertEquals(1, result.size());
+        assertTrue(result.get(0), result.get(0).contains("joda-time"));
+
+        // a new loader that shares the cache gets the jar without resolving
+        assertEquals(result, withoutGrapes(() -> compileWithCache(cache, source)));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testGrabResolutionNotCachedAfterError() throws Exception {
+        String source = "@Grapes([\n" +
+            "  @Grab('joda-time:joda-time:2.12.5;transitive=false'),\n" +
+            "  @Grab(group='org.aspectj', module='aspectjweaver', version='1.x')\n" +
+            "])\n" +
+            "import org.joda.time.DateTime\n" +
+            "def now = new DateTime()\n";
+        GrabResolutionCache cache = new GrabResolutionCache();
+
+        // the batch fails, so each grab is resolved on its own
+        List<String> result = compileWithCache(cache, source);
+        assertEquals(0, cache.size());
+        assertEquals(2, result.size());
+        assertTrue(result.get(0), result.get(0).contains("joda-time"));
+        assertTrue(result.get(1), result.get(1).contains("unresolved dependency: org.aspectj#aspectjweaver;1.x: not found"));
+        assertFalse(result.get(1), result.get(1).contains("joda-time"));
+    }
+
+    @Test
+    public void testGrabResolutionRetriedAfterError() throws Exception {
+        File repository = Files.createTempDirectory("grab").toFile();
+        String version = "1." + System.currentTimeMillis();
+        String source = "@GrabResolver(name='local', root='" + repository.toURI() + "')\n" +
+            "@Grab('org.example:grab-test:" + version + ";transitive=false')\n" +
+            "import java.util.List\n";
+        GrabResolutionCache cache = new GrabResolutionCache();
+
+        List<String> result = compileWithCache(cache, source);
+        assertEquals(0, cache.size());
+        assertEquals(1, result.size());
+        assertTrue(result.get(0), result.get(0).contains("unresolved dependency: org.example#grab-test;" + version));
+
+        // install the artifact; the next compile resolves it
+        File folder = new File(repository, "org/example/grab-test/" + version);
+        assertTrue(folder.mkdirs());
+        Files.write(new File(folder, "grab-test-" + version + ".pom").toPath(), (
+            "<project><modelVersion>4.0.0</modelVersion><groupId>org.example</groupId>" +
+            "<artifactId>grab-test</artifactId><version>" + version + "</version></project>").getBytes(StandardCharsets.UTF_8));
+        try (JarOutputStream jar = new JarOutputStream(new FileOutputStream(new File(folder, "grab-test-" + version + ".jar")))) {
+            jar.putNextEntry(new JarEntry("META-INF/"));
+        }
+
+        result = compileWithCache(cache, source);
+        assertEquals(1, cache.size());
+        assertEquals(1, result.size());
+        assertTrue(result.get(0), result.get(0).contains("grab-test-" + version + ".jar"));
+    }
 }
@@ -60,8 +60,10 @@ import java.net.URL;
 import java.security.CodeSource;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
@@ -884,7 +886,13 @@ public class CompilationUnit extends ProcessingUnit {
             visitor.visitClass(classNode);
 
             byte[] bytes = ((ClassWriter) classVisitor).toByteArray();
-            getClasses().add(new GroovyClass(classNode.getName(), bytes/*GRECLIPSE add*/, classNode, source/*GRECLIPSE end*/));
+            /* GRECLIPSE edit
+            getClasses().add(new GroovyClass(classNode.getName(), bytes));
+            */
+            GroovyClass groovyClass = new GroovyClass(classNode.getName(), bytes, classNode, source);
+            getClasses().add(groovyClass);
+            generatedClassesBySource.computeIfAbsent(source, x -> new ArrayList<>(2)).add(groovyClass);
+            // GRECLIPSE end
 
             //
             // Handle any callback that's been set
@@ -1269,8 +1277,17 @@ public class CompilationUnit extends ProcessingUnit {
         verifier.inlineStaticFieldInitializersIntoClinit = !isReconcile;
     }
 
+    /**
+     * Returns the classes generated for the given source unit.  Unlike filtering
+     * {@link #getClasses()}, the cost is proportional to the source's own output.
+     */
+    public List<GroovyClass> getClasses(final SourceUnit source) {
+        return generatedClassesBySource.getOrDefault(source, Collections.emptyList());
+    }
+
     public final boolean allowTransforms;
     private ProgressListener progressListener;
+    private final Map<SourceUnit, List<GroovyClass>> generatedClassesBySource = new IdentityHashMap<>();
     // GRECLIPSE end
 
     //--------------------------------------------------------------------------
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2009-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.control.io;
+
+/**
+ * A {@link ReaderSource} whose contents are held in memory.  The parser reads
+ * the characters in place rather than through a reader.
+ */
+public interface CharArraySource extends ReaderSource {
+
+    /**
+     * @return the source contents; callers must not modify the array
+     */
+    char[] getChars();
+
+    /**
+     * Returns the positions of the line separators of the source, in the form
+     * of JDT's {@code CompilationResult#lineSeparatorPositions}: the position
+     * of {@code '\n'} for "\r\n" and of the single character otherwise.
+     * <p>
+     * The table is computed once and shared; callers must not modify it.
+     */
+    int[] getLineSeparatorPositions();
+}
@@ -55,6 +55,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
@@ -323,6 +324,7 @@ public final class ASTTransformationVisitor extends ClassCodeVisitorSupport {
         final CompilationUnit compilationUnit = context.getCompilationUnit();
         GroovyClassLoader transformLoader = compilationUnit.getTransformLoader();
         Map<String, URL> transformNames = new LinkedHashMap<String, URL>();
+        /* GRECLIPSE edit -- scan service definitions once per transform loader
         try {
             Enumeration<URL> globalServices = transformLoader.getResources("META-INF/services/org.codehaus.groovy.transform.ASTTransformation");
             while (globalServices.hasMoreElements()) {
@@ -386,6 +388,39 @@ public final class ASTTransformationVisitor extends ClassCodeVisitorSupport {
                 "IO Exception attempting to load global transforms:" + e.getMessage(),
                 null));
         }
+        */
+        Set<String> disabledGlobalTransforms = compilationUnit.getConfiguration().getDisabledGlobalASTTransformations();
+        if (disabledGlobalTransforms == null) disabledGlobalTransforms = Collections.emptySet();
+        for (Map.Entry<String, URL> definition : findGlobalTransformDefinitions(compilationUnit, transformLoader)) {
+            String className = definition.getKey();
+            URL service = definition.getValue();
+            if (!disabledGlobalTransforms.contains(className)) {
+                if (transformNames.containsKey(className)) {
+                    try {
+                        if (!service.toURI().equals(transformNames.get(className).toURI())) {
+                            compilationUnit.getErrorCollector().addWarning(
+                                    WarningMessage.PARANOIA,
+                                    "The global transform for class " + className + " is defined in both "
+                                            + transformNames.get(className).toExternalForm()
+                                            + " and "
+                                            + service.toExternalForm()
+                                            + " - the former definition will be used and the latter ignored.",
+                                    null,
+                                    null);
+                        }
+                    } catch (URISyntaxException e) {
+                        compilationUnit.getErrorCollector().addWarning(
+                                WarningMessage.POSSIBLE_ERRORS,
+                                "Failed to parse URL as URI because of exception " + e.toString(),
+                                null,
+                                null);
+                    }
+                } else if (compilationUnit.allowTransforms) {
+                    transformNames.put(className, service);
+                }
+            }
+        }
+        // GRECLIPSE end
 
         // record the transforms found in the first scan, so that in the 2nd scan, phase operations
         // can be added for only for new transforms that have come in
@@ -401,12 +436,84 @@ public final class ASTTransformationVisitor extends ClassCodeVisitorSupport {
         }
     }
 
+    // GRECLIPSE add
+    /**
+     * Returns the class name and service URL of each global transform defined
+     * for {@code transformLoader}, in discovery order.  If the loader caches
+     * them, the service files are only read once.
+     */
+    private static List<Map.Entry<String, URL>> findGlobalTransformDefinitions(CompilationUnit compilationUnit, GroovyClassLoader transformLoader) {
+        GlobalTransformCache cache = GlobalTransformCache.of(transformLoader);
+        List<Map.Entry<String, URL>> definitions = (cache != null ? cache.getDefinitions() : null);
+        if (definitions == null) {
+            definitions = new ArrayList<>();
+            boolean complete = true;
+            try {
+                Enumeration<URL> globalServices = transformLoader.getResources("META-INF/services/org.codehaus.groovy.transform.ASTTransformation");
+                while (globalServices.hasMoreElements()) {
+                    URL service = globalServices.nextElement();
+                    try (BufferedReader svcIn = new BufferedReader(new InputStreamReader(URLStreams.openUncachedStream(service), StandardCharsets.UTF_8))) {
+                        String className;
+                        try {
+                            className = svcIn.readLine();
+                        } catch (IOException ioe) {
+                            complete = false;
+                            compilationUnit.getErrorCollector().addError(new SimpleMessage(
+                                    "IOException reading the service definition at "
+                                            + service.toExternalForm() + " because of exception " + ioe.toString(), null));
+                            continue;
+                        }
+                        while (className != null) {
+                            if (!className.startsWith("#") && className.length() > 0) {
+                                definitions.add(new AbstractMap.SimpleImmutableEntry<>(className, service));
+                            }
+                            try {
+                                className = svcIn.readLine();
+                            } catch (IOException ioe) {
+                                complete = false;
+                                compilationUnit.getErrorCollector().addError(new SimpleMessage(
+                                        "IOException reading the service definition at "
+                                                + service.toExternalForm() + " because of exception " + ioe.toString(), null));
+                            }
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                complete = false;
+                compilationUnit.getErrorCollector().addError(new SimpleMessage(
+                    "IO Exception attempting to load global transforms:" + e.getMessage(),
+                    null));
+            }
+            if (cache != null && complete) {
+                cache.setDefinitions(definitions);
+            }
+        }
+        return definitions;
+    }
+
+    private static Class<?> loadGlobalTransformClass(GroovyClassLoader transformLoader, String className) throws ClassNotFoundException {
+        GlobalTransformCache cache = GlobalTransformCache.of(transformLoader);
+        Class<?> transformClass = (cache != null ? cache.getTransformClass(className) : null);
+        if (transformClass == null) {
+            transformClass = transformLoader.loadClass(className, false, true, false);
+            if (cache != null) {
+                cache.putTransformClass(className, transformClass);
+            }
+        }
+        return transformClass;
+    }
+    // GRECLIPSE end
+
     private static void addPhaseOperationsForGlobalTransforms(CompilationUnit compilationUnit,
             Map<String, URL> transformNames, boolean isFirstScan) {
         GroovyClassLoader transformLoader = compilationUnit.getTransformLoader();
         for (Map.Entry<String, URL> entry : transformNames.entrySet()) {
             try {
+                /* GRECLIPSE edit
                 Class<?> gTransClass = transformLoader.loadClass(entry.getKey(), false, true, false);
+                */
+                Class<?> gTransClass = loadGlobalTransformClass(transformLoader, entry.getKey());
+                // GRECLIPSE end
                 GroovyASTTransformation transformAnnotation = gTransClass.getAnnotation(GroovyASTTransformation.class);
                 if (transformAnnotation == null) {
                     compilationUnit.getErrorCollector().addWarning(new WarningMessage(
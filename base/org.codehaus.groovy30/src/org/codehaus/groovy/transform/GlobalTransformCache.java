@@ -0,0 +1,72 @@
+/*
+ * Copyright 2009-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.transform;
+
+import java.net.URL;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Global transform definitions and classes found through a transform loader.
+ * A loader that is shared by many compilation units implements {@link Provider}
+ * so that its service files are read and its transform classes are loaded once
+ * instead of for every compilation unit.
+ */
+public final class GlobalTransformCache {
+
+    public interface Provider {
+        /**
+         * @return cache for the current URLs of the loader; a loader replaces
+         *     its cache when URLs are added to it
+         */
+        GlobalTransformCache getGlobalTransformCache();
+    }
+
+    /**
+     * @return cache of {@code loader} or {@code null} if it does not keep one
+     */
+    public static GlobalTransformCache of(final ClassLoader loader) {
+        return (loader instanceof Provider ? ((Provider) loader).getGlobalTransformCache() : null);
+    }
+
+    //--------------------------------------------------------------------------
+
+    private volatile List<Map.Entry<String, URL>> definitions;
+
+    private final Map<String, Class<?>> transformClasses = new ConcurrentHashMap<>();
+
+    /**
+     * @return class name and service URL of each definition in discovery order
+     *     or {@code null} if the service files have not been read
+     */
+    public List<Map.Entry<String, URL>> getDefinitions() {
+        return definitions;
+    }
+
+    public void setDefinitions(final List<Map.Entry<String, URL>> definitions) {
+        this.definitions = Collections.unmodifiableList(definitions);
+    }
+
+    public Class<?> getTransformClass(final String className) {
+        return transformClasses.get(className);
+    }
+
+    public void putTransformClass(final String className, final Class<?> transformClass) {
+        transformClasses.put(className, transformClass);
+    }
+}
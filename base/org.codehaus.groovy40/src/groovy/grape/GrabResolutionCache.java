@@ -0,0 +1,103 @@
+/*
+ * Copyright 2009-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package groovy.grape;
+
+import java.io.File;
+import java.net.URI;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dependencies resolved for the grabs of the sources compiled against a loader.
+ * A loader that is shared by many compilation units implements {@link Provider}
+ * so that compiling a source again does not go through Ivy.  The cache holds
+ * the most recently used resolutions and goes away with its loader.
+ */
+public final class GrabResolutionCache {
+
+    public interface Provider {
+        /**
+         * @return cache for the grabs resolved into the loader
+         */
+        GrabResolutionCache getGrabResolutionCache();
+    }
+
+    /**
+     * @return cache of {@code loader} or {@code null} if it does not keep one
+     */
+    public static GrabResolutionCache of(final ClassLoader loader) {
+        return (loader instanceof Provider ? ((Provider) loader).getGrabResolutionCache() : null);
+    }
+
+    /**
+     * Jars resolved for one combination of grabs, excludes, settings and
+     * resolvers, and the errors of the grabs that could not be resolved.
+     */
+    public static final class Resolution {
+        private final List<URI> uris;
+        private final Map<Integer, RuntimeException> errors;
+
+        public Resolution(final List<URI> uris, final Map<Integer, RuntimeException> errors) {
+            this.uris = Collections.unmodifiableList(uris);
+            this.errors = Collections.unmodifiableMap(errors);
+        }
+
+        public List<URI> getURIs() {
+            return uris;
+        }
+
+        /**
+         * @return error of each grab that could not be resolved, by grab index
+         */
+        public Map<Integer, RuntimeException> getErrors() {
+            return errors;
+        }
+
+        /**
+         * @return {@code false} if some of the jars have been removed
+         */
+        public boolean isAvailable() {
+            return uris.stream().allMatch(uri -> new File(uri).isFile());
+        }
+    }
+
+    //--------------------------------------------------------------------------
+
+    private static final int MAX_ENTRIES = 32;
+
+    private final Map<List<Object>, Resolution> resolutions = new LinkedHashMap<List<Object>, Resolution>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<List<Object>, Resolution> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    public synchronized Resolution get(final List<Object> key) {
+        return resolutions.get(key);
+    }
+
+    public synchronized void put(final List<Object> key, final Resolution resolution) {
+        resolutions.put(key, resolution);
+    }
+
+    public synchronized int size() {
+        return resolutions.size();
+    }
+}
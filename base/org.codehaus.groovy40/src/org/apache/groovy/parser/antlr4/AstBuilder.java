@@ -22,6 +22,8 @@ import groovy.lang.Tuple2;
 import groovy.lang.Tuple3;
 import groovy.transform.*;
 import groovyjarjarantlr4.v4.runtime.ANTLRErrorListener;
+import groovyjarjarantlr4.v4.runtime.ANTLRErrorStrategy;
+import groovyjarjarantlr4.v4.runtime.BailErrorStrategy;
 import groovyjarjarantlr4.v4.runtime.CharStream;
 import groovyjarjarantlr4.v4.runtime.CharStreams;
 import groovyjarjarantlr4.v4.runtime.CommonTokenStream;
@@ -29,6 +31,7 @@ import groovyjarjarantlr4.v4.runtime.ParserRuleContext;
 import groovyjarjarantlr4.v4.runtime.RecognitionException;
 import groovyjarjarantlr4.v4.runtime.Recognizer;
 import groovyjarjarantlr4.v4.runtime.Token;
+import groovyjarjarantlr4.v4.runtime.TokenStream;
 import groovyjarjarantlr4.v4.runtime.atn.PredictionMode;
 import groovyjarjarantlr4.v4.runtime.misc.Interval;
 import groovyjarjarantlr4.v4.runtime.misc.ParseCancellationException;
@@ -123,6 +126,7 @@ import org.codehaus.groovy.classgen.Verifier;
 import org.codehaus.groovy.control.CompilationFailedException;
 import org.codehaus.groovy.control.CompilePhase;
 import org.codehaus.groovy.control.SourceUnit;
+import org.codehaus.groovy.control.io.CharArraySource;
 import org.codehaus.groovy.control.messages.SyntaxErrorMessage;
 import org.codehaus.groovy.runtime.DefaultGroovyMethods;
 import org.codehaus.groovy.runtime.StringGroovyMethods;
@@ -195,22 +199,7 @@ public class AstBuilder extends GroovyParserBaseVisitor<Object> {
         this.groovydocManager = new GroovydocManager(groovydocEnabled, runtimeGroovydocEnabled);
         this.tryWithResourcesASTTransformation = new TryWithResourcesASTTransformation(this);
         // GRECLIPSE add
-        try (BufferedReader reader = new BufferedReader(sourceUnit.getSource().getReader())) {
-            // TODO: Can this be done without boxing/unboxing offsets or juggling temp arrays?
-            int chr, off = 0; List<Integer> ends = new ArrayList<>(32); ends.add(0);
-            while ((chr = reader.read()) != -1) { off += 1;
-                if (chr == '\n') ends.add(off);
-            }
-            ends.add(off);
-
-            int[] arr = new int[ends.size()];
-            for (int i = 0, n = arr.length; i < n; i += 1) {
-                arr[i] = ends.get(i);
-            }
-            this.locationSupport = new LocationSupport(arr);
-        } catch (Exception e) {
-            throw new RuntimeException("Error occurred reading the source code.", e);
-        }
+        this.locationSupport = createLocationSupport(sourceUnit);
         // GRECLIPSE end
     }
 
@@ -255,6 +244,14 @@ public class AstBuilder extends GroovyParserBaseVisitor<Object> {
     // GRECLIPSE end
 
     private CharStream createCharStream(final SourceUnit sourceUnit) {
+        // GRECLIPSE add
+        if (sourceUnit.getSource() instanceof CharArraySource) {
+            CharStream charStream = CharArrayCharStream.of(((CharArraySource) sourceUnit.getSource()).getChars(), sourceUnit.getName());
+            if (charStream != null) {
+                return charStream;
+            }
+        }
+        // GRECLIPSE end
         CharStream charStream;
 
         try {
@@ -268,6 +265,30 @@ public class AstBuilder extends GroovyParserBaseVisitor<Object> {
         return charStream;
     }
 
+    // GRECLIPSE add
+    private static LocationSupport createLocationSupport(final SourceUnit sourceUnit) {
+        if (sourceUnit.getSource() instanceof CharArraySource) {
+            CharArraySource source = (CharArraySource) sourceUnit.getSource();
+            return LocationSupport.fromLineSeparators(source.getLineSeparatorPositions(), source.getChars());
+        }
+        try (BufferedReader reader = new BufferedReader(sourceUnit.getSource().getReader())) {
+            int chr, off = 0; List<Integer> ends = new ArrayList<>(32); ends.add(0);
+            while ((chr = reader.read()) != -1) { off += 1;
+                if (chr == '\n') ends.add(off);
+            }
+            ends.add(off);
+
+            int[] arr = new int[ends.size()];
+            for (int i = 0, n = arr.length; i < n; i += 1) {
+                arr[i] = ends.get(i);
+            }
+            return new LocationSupport(arr);
+        } catch (Exception e) {
+            throw new RuntimeException("Error occurred reading the source code.", e);
+        }
+    }
+    // GRECLIPSE end
+
     private GroovyParserRuleContext buildCST() throws CompilationFailedException {
         GroovyParserRuleContext result;
 
@@ -275,7 +296,14 @@ public class AstBuilder extends GroovyParserBaseVisitor<Object> {
             // parsing have to wait util clearing is complete.
             AtnManager.READ_LOCK.lock();
             try {
+                /* GRECLIPSE edit -- try SLL prediction first
                 result = buildCST(PredictionMode.LL);
+                */
+                result = (!Boolean.getBoolean("greclipse.parser.llOnly") ? buildCSTWithSLL() : null);
+                if (result == null) {
+                    result = buildCST(PredictionMode.LL);
+                }
+                // GRECLIPSE end
             } finally {
                 AtnManager.READ_LOCK.unlock();
             }
@@ -300,6 +328,40 @@ public class AstBuilder extends GroovyParserBaseVisitor<Object> {
         return parser.compilationUnit();
     }
 
+    // GRECLIPSE add
+    /**
+     * Parses in SLL mode with a bail-out error strategy and no parser error
+     * listeners.  SLL prediction is much cheaper than LL and succeeds for most
+     * well-formed sources; any syntax error (real or an SLL false positive)
+     * stops the parse at once.  Lexer listeners stay installed because tokens
+     * are buffered and are not lexed again by the LL pass.
+     *
+     * @return {@code null} if the source must be reparsed in LL mode
+     */
+    private GroovyParserRuleContext buildCSTWithSLL() {
+        ANTLRErrorStrategy errorHandler = parser.getErrorHandler();
+        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+        parser.setErrorHandler(new BailErrorStrategy());
+        parser.removeErrorListeners();
+        lexer.removeErrorListeners();
+        lexer.addErrorListener(this.createANTLRErrorListener());
+        try {
+            return parser.compilationUnit();
+        } catch (RuntimeException e) {
+            // if some syntax error occurred in the lexer, no need to retry the powerful LL mode
+            if (e instanceof GroovySyntaxError && ((GroovySyntaxError) e).getSource() == GroovySyntaxError.LEXER) {
+                throw e;
+            }
+        }
+        // the generated parser keeps state outside of its rule contexts, so the LL pass gets a fresh one
+        TokenStream tokenStream = parser.getInputStream();
+        tokenStream.seek(0);
+        parser = new GroovyLangParser(tokenStream);
+        parser.setErrorHandler(errorHandler);
+        return null;
+    }
+    // GRECLIPSE end
+
     private CompilationFailedException convertException(final Throwable t) {
         CompilationFailedException cfe;
 
@@ -5338,7 +5400,11 @@ public class AstBuilder extends GroovyParserBaseVisitor<Object> {
     private final ModuleNode moduleNode;
     private final SourceUnit sourceUnit;
     private final GroovyLangLexer lexer;
+    /* GRECLIPSE edit
     private final GroovyLangParser parser;
+    */
+    private GroovyLangParser parser;
+    // GRECLIPSE end
     private final GroovydocManager groovydocManager;
     // GRECLIPSE add
     private final LocationSupport locationSupport;
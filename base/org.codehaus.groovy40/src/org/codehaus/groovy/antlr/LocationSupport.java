@@ -1,5 +1,5 @@
 /*
- * Copyright 2009-2020 the original author or authors.
+ * Copyright 2009-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,6 +15,7 @@
  */
 package org.codehaus.groovy.antlr;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
@@ -52,6 +53,23 @@ public class LocationSupport {
         this(lines != null ? processLineEndings(lines) : NO_LINE_ENDINGS);
     }
 
+    /**
+     * Creates location support from the line separator positions of
+     * {@link org.codehaus.groovy.control.io.CharArraySource}.  Only '\n' ends
+     * a line, so the position of a lone '\r' is skipped.
+     */
+    public static LocationSupport fromLineSeparators(int[] lineSeparatorPositions, char[] chars) {
+        int[] lineEndings = new int[lineSeparatorPositions.length + 2];
+        int n = 1;
+        for (int position : lineSeparatorPositions) {
+            if (chars[position] == '\n') {
+                lineEndings[n++] = position + 1;
+            }
+        }
+        lineEndings[n++] = chars.length;
+        return new LocationSupport(n == lineEndings.length ? lineEndings : Arrays.copyOf(lineEndings, n));
+    }
+
     private static int[] processLineEndings(List<? extends CharSequence> lines) {
         int[] lineEndings = new int[lines.size() + 1]; // last index stores end of file
         int total = 0;
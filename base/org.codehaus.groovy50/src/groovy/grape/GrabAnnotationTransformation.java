@@ -23,6 +23,7 @@ import groovy.lang.GrabConfig;
 import groovy.lang.GrabExclude;
 import groovy.lang.GrabResolver;
 import groovy.lang.Grapes;
+import groovy.lang.GroovyClassLoader;
 import groovy.transform.CompilationUnitAware;
 import org.codehaus.groovy.ast.ASTNode;
 import org.codehaus.groovy.ast.AnnotatedNode;
@@ -51,18 +52,25 @@ import org.codehaus.groovy.transform.AbstractASTTransformation;
 import org.codehaus.groovy.transform.GroovyASTTransformation;
 
 import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import static org.codehaus.groovy.ast.tools.GeneralUtils.args;
 import static org.codehaus.groovy.ast.tools.GeneralUtils.callThisX;
@@ -202,6 +210,9 @@ public class GrabAnnotationTransformation extends ClassCodeVisitorSupport implem
         Collection<Map<String,Object>> grabMaps = new LinkedHashSet<>();
         Collection<Map<String,Object>> grabMapsInit = new ArrayList<>();
         Collection<Map<String,Object>> grabExcludeMaps = new ArrayList<>();
+        // GRECLIPSE add
+        Collection<Map<String,Object>> grabResolverMaps = new ArrayList<>();
+        // GRECLIPSE end
 
         for (ClassNode classNode : sourceUnit.getAST().getClasses()) {
             grabAnnotations         = new ArrayList<>();
@@ -297,6 +308,9 @@ public class GrabAnnotationTransformation extends ClassCodeVisitorSupport implem
                     }
 
                     Grape.addResolver(grabResolverMap);
+                    // GRECLIPSE add
+                    grabResolverMaps.add(grabResolverMap);
+                    // GRECLIPSE end
                     addGrabResolverAsStaticInitIfNeeded(grapeClassNode, node, grabResolverInitializers, grabResolverMap);
                 }
             }
@@ -387,22 +401,26 @@ public class GrabAnnotationTransformation extends ClassCodeVisitorSupport implem
                 source.addException(re);
             }
             */
-            // grab one thing at a time (so the errors are discovered individually)
-            Map<String,Object>[] grabMapsAsMapArray = grabMaps.toArray(Map[]::new);
-            for (int i = 0, n = grabMapsAsMapArray.length; i < n; i += 1) {
-                try {
-                    Grape.grab(new HashMap<String,Object>(basicArgs), grabMapsAsMapArray[i]);
-                    // grab may have added more transformations through new URLs added to classpath, so do one more scan
-                    if (compilationUnit != null) {
-                        ASTTransformationVisitor.addGlobalTransformsAfterGrab(compilationUnit.getASTTransformationsContext());
-                    }
-                } catch (RuntimeException re) {
-                    // Error grabbing Grapes -- [unresolved dependency: joda-timxxe#joda-time;1.6: not found]
-                    String msg = re.getMessage();
-                    if (grabAnnotations.size() > i) {
-                        addError(msg, grabAnnotations.get(i));
-                    } else {
-                        source.addException(re);
+            if (basicArgs.get("classLoader") instanceof GroovyClassLoader) {
+                grabAll((GroovyClassLoader) basicArgs.get("classLoader"), basicArgs, grabMaps, grabResolverMaps);
+            } else {
+                // grab one thing at a time (so the errors are discovered individually)
+                Map<String,Object>[] grabMapsAsMapArray = grabMaps.toArray(Map[]::new);
+                for (int i = 0, n = grabMapsAsMapArray.length; i < n; i += 1) {
+                    try {
+                        Grape.grab(new HashMap<String,Object>(basicArgs), grabMapsAsMapArray[i]);
+                        // grab may have added more transformations through new URLs added to classpath, so do one more scan
+                        if (compilationUnit != null) {
+                            ASTTransformationVisitor.addGlobalTransformsAfterGrab(compilationUnit.getASTTransformationsContext());
+                        }
+                    } catch (RuntimeException re) {
+                        // Error grabbing Grapes -- [unresolved dependency: joda-timxxe#joda-time;1.6: not found]
+                        String msg = re.getMessage();
+                        if (grabAnnotations.size() > i) {
+                            addError(msg, grabAnnotations.get(i));
+                        } else {
+                            source.addException(re);
+                        }
                     }
                 }
             }
@@ -410,6 +428,97 @@ public class GrabAnnotationTransformation extends ClassCodeVisitorSupport implem
         }
     }
 
+    // GRECLIPSE add
+    /**
+     * Resolves all grabs at once (or reuses the resolution cached for the target
+     * loader) and adds the jars to the target loader, followed by one scan for
+     * global transforms.  Only resolutions without errors are cached.
+     */
+    private void grabAll(final GroovyClassLoader targetLoader, final Map<String, Object> basicArgs,
+            final Collection<Map<String, Object>> grabMaps, final Collection<Map<String, Object>> grabResolverMaps) {
+        Map<String, Object> resolveArgs = new HashMap<>(basicArgs);
+        resolveArgs.remove("classLoader");
+        List<Object> key = Arrays.asList(new ArrayList<>(grabMaps), new HashMap<>(resolveArgs), new ArrayList<>(grabResolverMaps));
+
+        GrabResolutionCache cache = GrabResolutionCache.of(targetLoader);
+        GrabResolutionCache.Resolution resolution = (cache != null ? cache.get(key) : null);
+        if (resolution == null || !resolution.isAvailable()) {
+            resolution = resolve(resolveArgs, grabMaps.toArray(new Map[0]));
+            // failed grabs are resolved again next time; the artifact may become available
+            if (cache != null && !resolution.getURIs().isEmpty() && resolution.getErrors().isEmpty()) {
+                cache.put(key, resolution);
+            }
+        }
+
+        for (Map.Entry<Integer, RuntimeException> error : resolution.getErrors().entrySet()) {
+            // Error grabbing Grapes -- [unresolved dependency: joda-timxxe#joda-time;1.6: not found]
+            String msg = error.getValue().getMessage();
+            if (grabAnnotations.size() > error.getKey()) {
+                addError(msg, grabAnnotations.get(error.getKey()));
+            } else {
+                sourceUnit.addException(error.getValue());
+            }
+        }
+
+        boolean added = false;
+        Set<String> present = Arrays.stream(targetLoader.getURLs()).map(URL::toExternalForm).collect(Collectors.toSet());
+        for (URI uri : resolution.getURIs()) {
+            try {
+                URL url = uri.toURL();
+                if (present.add(url.toExternalForm())) {
+                    targetLoader.addURL(url);
+                    added = true;
+                }
+            } catch (MalformedURLException e) {
+                sourceUnit.addException(e);
+            }
+        }
+        // grab may have added more transformations through new URLs added to classpath, so do one more scan
+        if (added && compilationUnit != null) {
+            ASTTransformationVisitor.addGlobalTransformsAfterGrab(compilationUnit.getASTTransformationsContext());
+        }
+    }
+
+    /**
+     * Resolves the dependencies into a loader without prior grabs, so that the
+     * result only depends on the arguments.  If that fails, each dependency is
+     * resolved on its own so that the errors can be attributed to the grabs.
+     */
+    @SuppressWarnings("rawtypes")
+    private static GrabResolutionCache.Resolution resolve(final Map<String, Object> args, final Map[] dependencies) {
+        Set<URI> uris = new LinkedHashSet<>();
+        Map<Integer, RuntimeException> errors = new LinkedHashMap<>();
+        GroovyClassLoader resolveLoader = new GroovyClassLoader();
+        try {
+            try {
+                Collections.addAll(uris, resolve(args, resolveLoader, dependencies));
+            } catch (RuntimeException e) {
+                // failed dependencies are removed from the loader; the others accumulate as with Grape.grab
+                for (int i = 0, n = dependencies.length; i < n; i += 1) {
+                    try {
+                        Collections.addAll(uris, resolve(args, resolveLoader, dependencies[i]));
+                    } catch (RuntimeException re) {
+                        errors.put(i, re);
+                    }
+                }
+            }
+        } finally {
+            try {
+                resolveLoader.close();
+            } catch (IOException ignore) {
+            }
+        }
+        return new GrabResolutionCache.Resolution(new ArrayList<>(uris), errors);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static URI[] resolve(final Map<String, Object> args, final GroovyClassLoader resolveLoader, final Map... dependencies) {
+        Map<String, Object> resolveArgs = new HashMap<>(args);
+        resolveArgs.put("classLoader", resolveLoader);
+        return Grape.resolve(resolveArgs, dependencies);
+    }
+    // GRECLIPSE end
+
     private void callGrabAsStaticInitIfNeeded(final ClassNode classNode, final ClassNode grapeClassNode,
             final Collection<Map<String,Object>> grabMapsInit, final Collection<Map<String, Object>> grabExcludeMaps) {
         List<Statement> grabInitializers = new ArrayList<>();
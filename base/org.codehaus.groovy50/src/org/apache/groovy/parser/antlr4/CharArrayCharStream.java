@@ -0,0 +1,119 @@
+/*
+ * Copyright 2009-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.groovy.parser.antlr4;
+
+import groovyjarjarantlr4.v4.runtime.CharStream;
+import groovyjarjarantlr4.v4.runtime.IntStream;
+import groovyjarjarantlr4.v4.runtime.misc.Interval;
+
+/**
+ * {@link CharStream} over a character array that is not copied.  The streams
+ * of {@code CharStreams} are indexed by code point; this one is indexed by
+ * char, so it may only be used for sources without surrogate pairs.
+ */
+final class CharArrayCharStream implements CharStream {
+
+    private final char[] data;
+    private final String name;
+    private int p;
+
+    /**
+     * @return stream over {@code data} or {@code null} if the characters
+     *     contain a surrogate (so code points and chars do not line up)
+     */
+    static CharStream of(final char[] data, final String name) {
+        for (char c : data) {
+            if (Character.isSurrogate(c)) {
+                return null;
+            }
+        }
+        return new CharArrayCharStream(data, name);
+    }
+
+    private CharArrayCharStream(final char[] data, final String name) {
+        this.data = data;
+        this.name = name;
+    }
+
+    @Override
+    public void consume() {
+        if (p >= data.length) {
+            throw new IllegalStateException("cannot consume EOF");
+        }
+        p += 1;
+    }
+
+    @Override
+    public int LA(int i) {
+        if (i == 0) {
+            return 0; // undefined
+        }
+        if (i < 0) {
+            i += 1; // e.g., translate LA(-1) to use offset i=0; then data[p+0-1]
+            if (p + i - 1 < 0) {
+                return IntStream.EOF; // invalid; no char before first char
+            }
+        }
+        if (p + i - 1 >= data.length) {
+            return IntStream.EOF;
+        }
+        return data[p + i - 1];
+    }
+
+    @Override
+    public int mark() {
+        return -1;
+    }
+
+    @Override
+    public void release(final int marker) {
+    }
+
+    @Override
+    public int index() {
+        return p;
+    }
+
+    @Override
+    public void seek(final int index) {
+        p = Math.min(index, data.length);
+    }
+
+    @Override
+    public int size() {
+        return data.length;
+    }
+
+    @Override
+    public String getSourceName() {
+        return (name == null || name.isEmpty() ? IntStream.UNKNOWN_SOURCE_NAME : name);
+    }
+
+    @Override
+    public String getText(final Interval interval) {
+        int start = interval.a;
+        int stop = Math.min(interval.b, data.length - 1);
+        if (start >= data.length || stop < start) {
+            return "";
+        }
+        return new String(data, start, stop - start + 1);
+    }
+
+    @Override
+    public String toString() {
+        return new String(data);
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2009-2023 the original author or authors.
+ * Copyright 2009-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,10 +23,13 @@ import java.net.URI;
 
 import org.codehaus.groovy.control.CompilerConfiguration;
 import org.codehaus.groovy.control.io.AbstractReaderSource;
+import org.codehaus.groovy.control.io.CharArraySource;
+import org.eclipse.jdt.groovy.core.util.GroovyUtils;
 
-public class CharArrayReaderSource extends AbstractReaderSource {
+public class CharArrayReaderSource extends AbstractReaderSource implements CharArraySource {
 
     private final char[] chars;
+    private volatile int[] lineSeparatorPositions;
 
     public CharArrayReaderSource(char[] chars) {
         super(CompilerConfiguration.DEFAULT);
@@ -38,6 +41,20 @@ public class CharArrayReaderSource extends AbstractReaderSource {
         return new CharArrayReader(chars);
     }
 
+    @Override
+    public char[] getChars() {
+        return chars;
+    }
+
+    @Override
+    public int[] getLineSeparatorPositions() {
+        int[] positions = lineSeparatorPositions;
+        if (positions == null) {
+            lineSeparatorPositions = positions = GroovyUtils.getSourceLineSeparatorsIn(chars);
+        }
+        return positions;
+    }
+
     @Override
     public URI getURI() {
         return null;
@@ -1,5 +1,5 @@
 /*
- * Copyright 2009-2023 the original author or authors.
+ * Copyright 2009-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -26,6 +26,7 @@ import org.codehaus.groovy.control.CompilationFailedException;
 import org.codehaus.groovy.control.CompilerConfiguration;
 import org.codehaus.groovy.control.ErrorCollector;
 import org.codehaus.groovy.control.SourceUnit;
+import org.codehaus.groovy.control.io.CharArraySource;
 import org.codehaus.jdt.groovy.internal.compiler.ast.JDTResolver;
 import org.eclipse.core.resources.IFile;
 
@@ -54,6 +55,14 @@ public class EclipseSourceUnit extends SourceUnit {
         return file;
     }
 
+    /**
+     * @return positions of the line separators of the source, as expected by
+     *     {@code CompilationResult#lineSeparatorPositions}; shared with the parser
+     */
+    public int[] getLineSeparatorPositions() {
+        return ((CharArraySource) getSource()).getLineSeparatorPositions();
+    }
+
     @Override
     public void convert() throws CompilationFailedException {
         super.convert();
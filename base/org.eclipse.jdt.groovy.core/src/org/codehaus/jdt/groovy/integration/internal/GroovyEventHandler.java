@@ -17,6 +17,7 @@ package org.codehaus.jdt.groovy.integration.internal;
 
 import org.codehaus.jdt.groovy.integration.EventHandler;
 import org.codehaus.jdt.groovy.internal.compiler.ast.GroovyParser;
+import org.codehaus.jdt.groovy.model.ModuleNodeMapper;
 import org.eclipse.jdt.internal.core.JavaProject;
 
 class GroovyEventHandler implements EventHandler {
@@ -28,6 +29,7 @@ class GroovyEventHandler implements EventHandler {
     public void handle(final JavaProject javaProject, final String event) {
         if (javaProject != null && event.matches("close|cleanOutputFolders")) {
             GroovyParser.clearCache(javaProject.getElementName());
+            ModuleNodeMapper.clearClosedUnitCache(javaProject.getElementName());
         }
     }
 }
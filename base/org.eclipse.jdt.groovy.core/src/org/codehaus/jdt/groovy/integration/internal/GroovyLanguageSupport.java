@@ -18,18 +18,31 @@ package org.codehaus.jdt.groovy.integration.internal;
 import java.io.File;
 import java.net.URI;
 import java.net.URL;
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import groovy.lang.Binding;
 import groovy.lang.GroovyClassLoader;
 import groovy.lang.GroovyShell;
+import groovy.lang.Script;
 
 import org.apache.xbean.classloader.MultiParentClassLoader;
 import org.codehaus.groovy.ast.ImportNode;
@@ -39,7 +52,7 @@ import org.codehaus.groovy.control.Phases;
 import org.codehaus.groovy.control.ResolveVisitor;
 import org.codehaus.groovy.control.SourceUnit;
 import org.codehaus.groovy.control.customizers.ImportCustomizer;
-import org.codehaus.groovy.control.io.ReaderSource;
+import org.codehaus.groovy.runtime.InvokerHelper;
 import org.codehaus.jdt.groovy.control.CharArrayReaderSource;
 import org.codehaus.jdt.groovy.integration.EventHandler;
 import org.codehaus.jdt.groovy.integration.ISupplementalIndexer;
@@ -55,7 +68,9 @@ import org.codehaus.jdt.groovy.model.GroovyNature;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
@@ -70,6 +85,7 @@ import org.eclipse.jdt.core.search.SearchRequestor;
 import org.eclipse.jdt.groovy.core.util.ContentTypeUtils;
 import org.eclipse.jdt.groovy.core.util.GroovyUtils;
 import org.eclipse.jdt.groovy.core.util.ReflectionUtils;
+import org.eclipse.jdt.groovy.search.BufferedSearchRequestor;
 import org.eclipse.jdt.groovy.search.ITypeRequestor;
 import org.eclipse.jdt.groovy.search.TypeInferencingVisitorFactory;
 import org.eclipse.jdt.groovy.search.TypeInferencingVisitorWithRequestor;
@@ -119,6 +135,18 @@ public class GroovyLanguageSupport implements LanguageSupport {
             "org.codehaus.groovy.ast.builder.AstBuilderTransformation", "groovy.grape.GrabAnnotationTransformation")));
     }
 
+    /*
+     * Compiling the compiler config script is the expensive part of evaluating it, so the script class is cached per
+     * project. The key captures the script location and modification stamp; when either changes, the entry is replaced.
+     * The script is run again for each configuration, since customizers like ASTTransformationCustomizer have state and
+     * must not be shared by compilation units.
+     */
+    private static final Map<String, Map.Entry<List<Object>, Class<? extends Script>>> configScriptCache = new ConcurrentHashMap<>();
+
+    public static void clearConfigScriptCache(final String projectName) {
+        configScriptCache.remove(String.valueOf(projectName));
+    }
+
     @Override
     public Parser getParser(final Object requestor, final CompilerOptions compilerOptions, final ProblemReporter problemReporter, final boolean parseLiteralExpressionsAsConstants, final int variant) {
         if (variant == 1) {
@@ -191,7 +219,7 @@ public class GroovyLanguageSupport implements LanguageSupport {
         if (ContentTypeUtils.isGroovyLikeFileName(icu.getFileName())) {
             char[] unitText = icu.getContents();
             String unitName = String.valueOf(icu.getFileName());
-            ReaderSource unitSource = new CharArrayReaderSource(unitText) {
+            CharArrayReaderSource unitSource = new CharArrayReaderSource(unitText) {
                 @Override public URI getURI() {
                     return URI.create("platform:/resource" + unitName);
                 }
@@ -214,7 +242,7 @@ public class GroovyLanguageSupport implements LanguageSupport {
             gcu.setResolveVisitor(resolver);
             gcu.addSource(sourceUnit);
 
-            compilationResult.lineSeparatorPositions = GroovyUtils.getSourceLineSeparatorsIn(unitText); // TODO: get from parser
+            compilationResult.lineSeparatorPositions = unitSource.getLineSeparatorPositions();
 
             GroovyCompilationUnitDeclaration decl = new GroovyCompilationUnitDeclaration(problemReporter, compilationResult, sourceLength, gcu, sourceUnit, problemReporter.options);
 
@@ -257,16 +285,32 @@ public class GroovyLanguageSupport implements LanguageSupport {
         }
 
         if (compilerOptions.buildGroovyFiles > 1 && compilerOptions.groovyCompilerConfigScript != null) {
-            Binding binding = new Binding();
-            binding.setVariable("configuration", config);
-            GroovyShell shell = new GroovyShell(binding, CONFIG_SCRIPT_CONFIG);
             try {
                 File configScript = new File(compilerOptions.groovyCompilerConfigScript);
                 if (!configScript.isAbsolute() && compilerOptions.groovyProjectName != null) {
                     IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(compilerOptions.groovyProjectName);
                     configScript = new File(project.getLocation().append(configScript.getPath()).toOSString());
                 }
-                shell.evaluate(configScript);
+
+                String cacheName = String.valueOf(compilerOptions.groovyProjectName);
+                List<Object> cacheKey = Arrays.asList(configScript.getPath(), configScript.lastModified(), configScript.length());
+
+                Class<? extends Script> scriptClass;
+                Map.Entry<List<Object>, Class<? extends Script>> entry = configScriptCache.get(cacheName);
+                if (entry != null && entry.getKey().equals(cacheKey)) {
+                    scriptClass = entry.getValue();
+                } else {
+                    configScriptCache.remove(cacheName); // script changed
+
+                    GroovyShell shell = new GroovyShell(CONFIG_SCRIPT_CONFIG);
+                    scriptClass = shell.parse(configScript).getClass();
+
+                    configScriptCache.put(cacheName, new AbstractMap.SimpleImmutableEntry<>(cacheKey, scriptClass));
+                }
+
+                Binding binding = new Binding();
+                binding.setVariable("configuration", config);
+                InvokerHelper.createScript(scriptClass, binding).run();
             } catch (Exception | LinkageError e) {
                 int severity = ProblemSeverities.Error;
                 CompilationResult compilationResult = null;
@@ -332,6 +376,134 @@ public class GroovyLanguageSupport implements LanguageSupport {
         return ContentTypeUtils.isGroovyLikeFileName(fileName);
     }
 
+    @Override
+    public DelegatedSearch startDelegatedSearch(final List<PossibleMatch> possibleMatches, final SearchPattern pattern, final SearchRequestor requestor, final IProgressMonitor monitor) {
+        // opt-in number of threads that infer possible matches of a search concurrently
+        int nThreads = Math.min(Integer.getInteger("greclipse.search.threads", 1), possibleMatches.size());
+        if (nThreads < 2) {
+            return LanguageSupport.super.startDelegatedSearch(possibleMatches, pattern, requestor, monitor);
+        }
+        return new ConcurrentDelegatedSearch(nThreads, possibleMatches, pattern, requestor, monitor);
+    }
+
+    /**
+     * Infers the possible matches on a shared thread pool and reports the buffered
+     * results of each one when it is performed by the match locator, so matches are
+     * reported in the same order as a search that infers one possible match at a time.
+     * At most {@code nThreads} possible matches are inferred ahead of the locator.
+     * <p>
+     * A worker may need a lock that is held by the locator thread, for example to
+     * create a working copy.  If a possible match is not inferred in time, it and
+     * all that follow are searched on the locator thread instead.
+     */
+    private class ConcurrentDelegatedSearch implements DelegatedSearch {
+
+        private final int nThreads;
+        private final IProgressMonitor monitor;
+        private final SearchPattern pattern;
+        private final SearchRequestor requestor;
+        private final Deque<PossibleMatch> pending;
+        // PossibleMatch#equals may equate a possible match with its similar match
+        private final Map<PossibleMatch, Future<BufferedSearchRequestor>> searches = new IdentityHashMap<>();
+
+        ConcurrentDelegatedSearch(final int nThreads, final List<PossibleMatch> possibleMatches, final SearchPattern pattern, final SearchRequestor requestor, final IProgressMonitor monitor) {
+            this.nThreads = nThreads;
+            this.monitor = monitor;
+            this.pattern = pattern;
+            this.requestor = requestor;
+            this.pending = new ArrayDeque<>(possibleMatches);
+            searchAhead();
+        }
+
+        private void searchAhead() {
+            while (searches.size() < nThreads && !pending.isEmpty()) {
+                PossibleMatch possibleMatch = pending.removeFirst();
+                searches.put(possibleMatch, SearchExecutor.INSTANCE.submit(() -> {
+                    BufferedSearchRequestor buffer = new BufferedSearchRequestor(requestor);
+                    return maybePerformDelegatedSearch(possibleMatch, pattern, buffer) ? buffer : null;
+                }));
+            }
+        }
+
+        @Override
+        public boolean perform(final PossibleMatch possibleMatch) throws CoreException {
+            Future<BufferedSearchRequestor> search = searches.remove(possibleMatch);
+            if (search == null) {
+                pending.removeIf(pendingMatch -> pendingMatch == possibleMatch);
+                searchAhead();
+                return maybePerformDelegatedSearch(possibleMatch, pattern, requestor);
+            }
+
+            BufferedSearchRequestor buffer;
+            try {
+                long deadline = System.nanoTime() + SEARCH_WAIT_LIMIT;
+                while (true) {
+                    try {
+                        buffer = search.get(100, TimeUnit.MILLISECONDS);
+                        break;
+                    } catch (TimeoutException e) {
+                        if (monitor != null && monitor.isCanceled()) {
+                            throw new OperationCanceledException();
+                        }
+                        if (System.nanoTime() - deadline > 0) {
+                            search.cancel(true);
+                            close(); // continue on this thread
+                            return maybePerformDelegatedSearch(possibleMatch, pattern, requestor);
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OperationCanceledException();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+            searchAhead();
+
+            if (buffer == null) {
+                return false;
+            }
+            buffer.flush();
+            return true;
+        }
+
+        @Override
+        public void close() {
+            searches.values().forEach(search -> search.cancel(true));
+            searches.clear();
+            pending.clear();
+        }
+    }
+
+    /**
+     * Time in nanoseconds that the locator waits for a possible match inferred ahead.
+     */
+    private static final long SEARCH_WAIT_LIMIT = TimeUnit.SECONDS.toNanos(5);
+
+    /**
+     * Thread pool shared by concurrent searches.  It is created on first use and
+     * its threads are released when idle.
+     */
+    private static class SearchExecutor {
+        static final ExecutorService INSTANCE;
+        static {
+            int nThreads = Runtime.getRuntime().availableProcessors();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(nThreads, nThreads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "Groovy search");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.allowCoreThreadTimeOut(true);
+            INSTANCE = executor;
+        }
+    }
+
     @Override
     public boolean maybePerformDelegatedSearch(final PossibleMatch possibleMatch, final SearchPattern pattern, final SearchRequestor requestor) {
         if (possibleMatch.openable != null && possibleMatch.openable.exists()) {
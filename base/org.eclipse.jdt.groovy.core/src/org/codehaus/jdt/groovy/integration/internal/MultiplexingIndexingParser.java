@@ -60,7 +60,9 @@ class MultiplexingIndexingParser extends IndexingParser {
             char[] contents = GroovyParser.getContents(compilationUnit, readManager);
             String fileName = CharOperation.charToString(compilationUnit.getFileName());
             CompilationResult compilationResult = new CompilationResult(compilationUnit, 0, 1, options.maxProblemsPerUnit);
-            GroovyCompilationUnitDeclaration gcud = new GroovyParser(options, problemReporter, false, true).dietParse(contents, fileName, compilationResult);
+            GroovyCompilationUnitDeclaration gcud = (GroovyParser.isIndexingParseEligible(options, contents)
+                ? GroovyParser.indexingParse(contents, fileName, compilationResult, options, problemReporter)
+                : new GroovyParser(options, problemReporter, false, true).dietParse(contents, fileName, compilationResult));
 
             if (pm != null && pm.isCanceled())
                 throw new OperationCanceledException(Messages.operation_cancelled);
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2009-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.jdt.groovy.internal.compiler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.codehaus.groovy.ast.ClassHelper;
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.ast.MethodNode;
+import org.codehaus.groovy.ast.Parameter;
+import org.eclipse.jdt.groovy.core.util.GroovyUtils;
+
+/**
+ * Immutable index of the extension methods supplied by the default categories
+ * of a {@link GroovyClassLoaderFactory.GrapeAwareGroovyClassLoader}.  It is
+ * built once per loader and shared by all modules compiled against the loader.
+ * <p>
+ * Only public static methods with at least one parameter (the self type) are
+ * indexed.  Methods are kept in category order, so results are ordered as if
+ * each category were scanned in turn.
+ */
+public final class ExtensionMethodIndex {
+
+    private final Set<ClassNode> categories;
+    private final List<MethodNode> methods;
+    private final Map<MethodNode, Integer> ordinals;
+    private final Map<String, List<MethodNode>> methodsByName;
+    private final Map<String, List<MethodNode>> methodsBySelfType;
+
+    @SuppressWarnings("rawtypes")
+    ExtensionMethodIndex(final Set<Class> categoryClasses) {
+        Set<ClassNode> categories = new LinkedHashSet<>();
+        List<MethodNode> methods = new ArrayList<>();
+        Map<MethodNode, Integer> ordinals = new IdentityHashMap<>();
+        Map<String, List<MethodNode>> methodsByName = new HashMap<>();
+        Map<String, List<MethodNode>> methodsBySelfType = new HashMap<>();
+
+        for (Class categoryClass : categoryClasses) {
+            ClassNode category = new ClassNode(categoryClass);
+            categories.add(category);
+            for (MethodNode method : category.getMethods()) {
+                Parameter[] parameters = method.getParameters();
+                if (method.isPublic() && method.isStatic() && parameters != null && parameters.length > 0) {
+                    ordinals.put(method, methods.size());
+                    methods.add(method);
+                    methodsByName.computeIfAbsent(method.getName(), x -> new ArrayList<>(2)).add(method);
+                    methodsBySelfType.computeIfAbsent(parameters[0].getType().getName(), x -> new ArrayList<>()).add(method);
+                }
+            }
+        }
+
+        methodsByName.replaceAll((name, list) -> Collections.unmodifiableList(list));
+        methodsBySelfType.replaceAll((name, list) -> Collections.unmodifiableList(list));
+
+        this.categories = Collections.unmodifiableSet(categories);
+        this.methods = Collections.unmodifiableList(methods);
+        this.ordinals = ordinals;
+        this.methodsByName = methodsByName;
+        this.methodsBySelfType = methodsBySelfType;
+    }
+
+    /**
+     * @return the default categories in declaration order
+     */
+    public Set<ClassNode> getCategories() {
+        return categories;
+    }
+
+    /**
+     * @return {@code true} if the given type is one of the default categories
+     */
+    public boolean isCategory(final ClassNode type) {
+        return categories.contains(type);
+    }
+
+    /**
+     * @return all indexed extension methods
+     */
+    public List<MethodNode> getMethods() {
+        return methods;
+    }
+
+    /**
+     * @return extension methods named {@code name}
+     */
+    public List<MethodNode> getMethods(final String name) {
+        return methodsByName.getOrDefault(name, Collections.emptyList());
+    }
+
+    /**
+     * Returns the extension methods whose self type could accept {@code selfType}.
+     * The result is a superset of the applicable methods; callers still need to
+     * check assignability of the self parameter.
+     */
+    public List<MethodNode> getMethods(final ClassNode selfType) {
+        // primitive, boxed and array types have conversions that erased names do not capture
+        if (selfType.isArray() || selfType.isGenericsPlaceHolder() || ClassHelper.isPrimitiveType(selfType) ||
+                ClassHelper.isPrimitiveType(ClassHelper.getUnwrapper(selfType)) || selfType.isDerivedFrom(ClassHelper.Number_TYPE)) {
+            return methods;
+        }
+
+        Set<String> selfTypeNames = new LinkedHashSet<>();
+        addTypeNames(selfType, selfTypeNames);
+        if (selfType.isDerivedFrom(ClassHelper.GSTRING_TYPE)) {
+            // a GString is accepted where a String is expected
+            addTypeNames(ClassHelper.STRING_TYPE, selfTypeNames);
+        }
+        selfTypeNames.add(ClassHelper.OBJECT);
+
+        List<MethodNode> result = new ArrayList<>();
+        for (String name : selfTypeNames) {
+            result.addAll(methodsBySelfType.getOrDefault(name, Collections.emptyList()));
+        }
+        result.sort(Comparator.comparing(ordinals::get));
+        return result;
+    }
+
+    private static void addTypeNames(final ClassNode type, final Set<String> names) {
+        for (ClassNode t = type; t != null; t = t.getSuperClass()) {
+            names.add(t.getName());
+        }
+        for (ClassNode t : GroovyUtils.getAllInterfaces(type)) {
+            names.add(t.getName());
+        }
+    }
+}
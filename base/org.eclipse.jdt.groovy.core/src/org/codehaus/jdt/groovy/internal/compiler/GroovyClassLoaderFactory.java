@@ -35,7 +35,10 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
+import groovy.grape.GrabResolutionCache;
 import groovy.lang.GroovyClassLoader;
 
 import org.codehaus.groovy.control.CompilerConfiguration;
@@ -43,6 +46,7 @@ import org.codehaus.groovy.eclipse.GroovyLogManager;
 import org.codehaus.groovy.eclipse.TraceCategory;
 import org.codehaus.groovy.runtime.m12n.ExtensionModuleScanner;
 import org.codehaus.groovy.runtime.m12n.SimpleExtensionModule;
+import org.codehaus.groovy.transform.GlobalTransformCache;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.ResourcesPlugin;
@@ -73,7 +77,29 @@ public final class GroovyClassLoaderFactory {
      */
     private static Map<String, Map.Entry<IClasspathEntry[], GroovyClassLoader[]>> projectClassLoaderCache = new ConcurrentHashMap<>();
 
+    private static Map<String, Integer> projectClasspathGenerations = new ConcurrentHashMap<>();
+
+    /**
+     * @return count of the times that the loaders of the project were discarded
+     *     due to a classpath change, clean build or project close
+     */
+    public static int getClasspathGeneration(final String projectName) {
+        return projectClasspathGenerations.getOrDefault(projectName, 0);
+    }
+
+    private static List<Consumer<String>> clearCacheListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Registers a listener that is notified with the project name whenever the
+     * loaders of a project are discarded.
+     */
+    public static void addClearCacheListener(final Consumer<String> listener) {
+        clearCacheListeners.add(listener);
+    }
+
     public  static void clearCache(final String projectName) {
+        projectClasspathGenerations.merge(projectName, 1, Integer::sum);
+        clearCacheListeners.forEach(listener -> listener.accept(projectName));
         Map.Entry<?, GroovyClassLoader[]> entry = projectClassLoaderCache.remove(projectName);
         if (entry != null) {
             Arrays.stream(entry.getValue()).filter(Objects::nonNull).forEach(GroovyClassLoaderFactory::close);
@@ -293,7 +319,7 @@ public final class GroovyClassLoaderFactory {
 
     //--------------------------------------------------------------------------
 
-    private static class EclipseGroovyClassLoader extends GroovyClassLoader {
+    private static class EclipseGroovyClassLoader extends GroovyClassLoader implements GlobalTransformCache.Provider, GrabResolutionCache.Provider {
 
         private EclipseGroovyClassLoader(final IProject project, final ClassLoader parent) {
             this(project, parent, CompilerConfiguration.DEFAULT);
@@ -306,14 +332,57 @@ public final class GroovyClassLoaderFactory {
 
         private final IProject project;
 
+        private volatile GlobalTransformCache globalTransformCache;
+
+        private final GrabResolutionCache grabResolutionCache = new GrabResolutionCache();
+
         //
 
+        @Override
+        public void addURL(final URL url) {
+            super.addURL(url);
+            globalTransformCache = null;
+        }
+
         @Override
         public void close() throws IOException {
+            globalTransformCache = null;
             clearExtensionMethodCache(this);
             super.close();
         }
 
+        /**
+         * Global transform definitions and classes are shared by all compilation
+         * units that use this loader.  The cache is dropped when a URL is added
+         * (e.g. by {@code @Grab}); a new loader is created when the classpath of
+         * the project changes or {@link GroovyClassLoaderFactory#clearCache} is
+         * called.
+         */
+        @Override
+        public GlobalTransformCache getGlobalTransformCache() {
+            GlobalTransformCache cache = globalTransformCache;
+            if (cache == null) {
+                synchronized (this) {
+                    cache = globalTransformCache;
+                    if (cache == null) {
+                        cache = new GlobalTransformCache();
+                        globalTransformCache = cache;
+                    }
+                }
+            }
+            return cache;
+        }
+
+        /**
+         * Dependencies resolved for {@code @Grab}s are shared by all compilation
+         * units that use this loader, so they go away with the loader when the
+         * classpath of the project changes or the project is cleaned or closed.
+         */
+        @Override
+        public GrabResolutionCache getGrabResolutionCache() {
+            return grabResolutionCache;
+        }
+
         @Override
         public Enumeration<URL> getResources(final String name) throws IOException {
             Enumeration<URL> resources = super.getResources(name);
@@ -351,6 +420,7 @@ public final class GroovyClassLoaderFactory {
             this.grabbed = true;
             this.defaultCategories = null;
             this.defaultStaticCategories = null;
+            this.extensionMethodIndex = null;
         }
 
         /** {@code true} if any grabbing is done */
@@ -358,6 +428,7 @@ public final class GroovyClassLoaderFactory {
 
         private volatile Set<Class> defaultCategories;
         private volatile Set<Class> defaultStaticCategories;
+        private volatile ExtensionMethodIndex extensionMethodIndex;
 
         public Set<Class> getDefaultCategories() {
             if (defaultCategories == null) {
@@ -420,6 +491,23 @@ public final class GroovyClassLoaderFactory {
             return Collections.unmodifiableSet(defaultCategories);
         }
 
+        /**
+         * @return index of the methods supplied by the default categories; built once per loader
+         */
+        public ExtensionMethodIndex getExtensionMethodIndex() {
+            ExtensionMethodIndex index = extensionMethodIndex;
+            if (index == null) {
+                synchronized (this) {
+                    index = extensionMethodIndex;
+                    if (index == null) {
+                        index = new ExtensionMethodIndex(getDefaultCategories());
+                        extensionMethodIndex = index;
+                    }
+                }
+            }
+            return index;
+        }
+
         public boolean isDefaultStaticCategory(final String name) {
             if (defaultStaticCategories == null) getDefaultCategories();
             return defaultStaticCategories.stream().map(Class::getName).anyMatch(name::equals);
@@ -365,8 +365,8 @@ public class GroovyCompilationUnitDeclaration extends CompilationUnitDeclaration
             // we have to do very little hunting for the binding and don't have to mess around with strings (chopping off
             // packages, etc).
 
-            // This returns all of them, for all source files
-            List<GroovyClass> classes = compilationUnit.getClasses();
+            // This returns only those generated for this source unit
+            List<GroovyClass> classes = compilationUnit.getClasses(groovySourceUnit);
 
             if (DEBUG_CODE_GENERATION) {
                 System.out.println("Processing sourceUnit " + groovySourceUnit.getName());
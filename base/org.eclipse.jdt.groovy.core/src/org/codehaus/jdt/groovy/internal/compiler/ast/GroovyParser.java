@@ -33,6 +33,7 @@ import org.codehaus.groovy.control.CompilationUnit.ProgressListener;
 import org.codehaus.groovy.control.CompilerConfiguration;
 import org.codehaus.groovy.control.Phases;
 import org.codehaus.groovy.control.SourceUnit;
+import org.codehaus.jdt.groovy.control.CharArrayReaderSource;
 import org.codehaus.jdt.groovy.control.EclipseSourceUnit;
 import org.codehaus.jdt.groovy.integration.internal.GroovyLanguageSupport;
 import org.codehaus.jdt.groovy.internal.compiler.GroovyClassLoaderFactory;
@@ -46,7 +47,6 @@ import org.eclipse.jdt.core.compiler.CategorizedProblem;
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.groovy.core.util.CharArraySequence;
 import org.eclipse.jdt.groovy.core.util.ContentTypeUtils;
-import org.eclipse.jdt.groovy.core.util.GroovyUtils;
 import org.eclipse.jdt.groovy.core.util.ReflectionUtils;
 import org.eclipse.jdt.groovy.core.util.ScriptFolderSelector;
 import org.eclipse.jdt.internal.compiler.CompilationResult;
@@ -94,6 +94,7 @@ public class GroovyParser {
     public static void clearCache(String projectName) {
         scriptFolderSelectorCache.remove(projectName);
         GroovyClassLoaderFactory.clearCache(projectName);
+        GroovyLanguageSupport.clearConfigScriptCache(projectName);
     }
 
     public static char[] getContents(ICompilationUnit compilationUnit, /*@Nullable*/ ReadManager readManager) {
@@ -220,8 +221,9 @@ public class GroovyParser {
             compilationUnit = unitFactory.get();
         }
 
-        SourceUnit sourceUnit = compilationUnit.addSource(new EclipseSourceUnit(eclipseFile, fileName, contents,
-            compilationUnit.getConfiguration(), null, new GroovyErrorCollectorForJDT(compilationUnit.getConfiguration()), resolver));
+        EclipseSourceUnit sourceUnit = new EclipseSourceUnit(eclipseFile, fileName, contents,
+            compilationUnit.getConfiguration(), null, new GroovyErrorCollectorForJDT(compilationUnit.getConfiguration()), resolver);
+        compilationUnit.addSource(sourceUnit);
 
         if (requestor instanceof Compiler) {
             Compiler compiler = (Compiler) requestor;
@@ -244,7 +246,7 @@ public class GroovyParser {
             }
         }
 
-        compilationResult.lineSeparatorPositions = GroovyUtils.getSourceLineSeparatorsIn(contents); // TODO: Get from Antlr
+        compilationResult.lineSeparatorPositions = sourceUnit.getLineSeparatorPositions();
 
         GroovyCompilationUnitDeclaration gcuDeclaration = new GroovyCompilationUnitDeclaration(
             problemReporter, compilationResult, contents.length, compilationUnit, sourceUnit, compilerOptions);
@@ -268,6 +270,66 @@ public class GroovyParser {
         return gcuDeclaration;
     }
 
+    /**
+     * Parses {@code contents} for the indexer.  The source is only taken through
+     * parsing and AST building against {@link CompilerConfiguration#DEFAULT}, so
+     * there are no project class loaders, no AST transforms and no resolver.  As
+     * neither resolution nor transforms run before semantic analysis, the result
+     * declares the same types and members as {@link #dietParse} would.
+     *
+     * @see #isIndexingParseEligible(CompilerOptions, char[])
+     */
+    public static GroovyCompilationUnitDeclaration indexingParse(final char[] contents, final String fileName,
+            final CompilationResult compilationResult, final CompilerOptions compilerOptions, final ProblemReporter problemReporter) {
+        if (problemReporter.referenceContext == null) {
+            problemReporter.referenceContext = new ReferenceContextImpl(compilationResult);
+        }
+
+        CompilerConfiguration config = CompilerConfiguration.DEFAULT;
+        CharArrayReaderSource source = new CharArrayReaderSource(contents);
+        SourceUnit sourceUnit = new SourceUnit(fileName, source, config, null, new GroovyErrorCollectorForJDT(config));
+        CompilationUnit compilationUnit = new CompilationUnit(config, null, IndexingLoader.INSTANCE, IndexingLoader.INSTANCE, false, null);
+        compilationUnit.addSource(sourceUnit);
+
+        compilationResult.lineSeparatorPositions = source.getLineSeparatorPositions();
+
+        GroovyCompilationUnitDeclaration gcuDeclaration = new GroovyCompilationUnitDeclaration(
+            problemReporter, compilationResult, contents.length, compilationUnit, sourceUnit, compilerOptions);
+
+        gcuDeclaration.processToPhase(Phases.CONVERSION);
+
+        // if fatal error, then ModuleNode is null
+        if (gcuDeclaration.getModuleNode() != null) {
+            gcuDeclaration.populateCompilationUnitDeclaration();
+        }
+        return gcuDeclaration;
+    }
+
+    /**
+     * Determines if {@link #indexingParse} yields the same declarations as
+     * {@link #dietParse} for the given options and source.  A compiler config
+     * script or the type-checking extension configuration may contribute
+     * imports or a script base class, so such sources take the full path.  Set
+     * system property {@code greclipse.indexer.fullParse} to always do so.
+     */
+    public static boolean isIndexingParseEligible(final CompilerOptions compilerOptions, final char[] contents) {
+        if (Boolean.getBoolean("greclipse.indexer.fullParse")) {
+            return false;
+        }
+        if (compilerOptions.buildGroovyFiles > 2 || (compilerOptions.buildGroovyFiles > 1 && compilerOptions.groovyCompilerConfigScript != null)) {
+            return false;
+        }
+        return !STC_EXTENSION_DISCRIMINATOR.matcher(new CharArraySequence(contents)).find();
+    }
+
+    /**
+     * Class loader shared by all indexing parses; nothing is loaded through it
+     * before semantic analysis.
+     */
+    private static class IndexingLoader {
+        static final GroovyClassLoader INSTANCE = new GroovyClassLoader(GroovyParser.class.getClassLoader(), CompilerConfiguration.DEFAULT);
+    }
+
     /**
      * ProgressListener is called when parsing of a source unit or generation of
      * a class file completes.  By calling back to the build notifier we prevent
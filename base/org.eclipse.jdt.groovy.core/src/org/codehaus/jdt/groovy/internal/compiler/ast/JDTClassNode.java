@@ -21,8 +21,11 @@ import java.beans.Introspector;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import groovy.lang.MissingClassException;
@@ -91,6 +94,8 @@ public class JDTClassNode extends ClassNode implements JDTNode {
 
     private volatile int bits;
     private boolean lazyInitStarted;
+    private boolean membersInitStarted;
+    private volatile boolean membersInitDone;
     private boolean anyGenericsInitialized;
 
     private GroovyTypeDeclaration groovyTypeDecl;
@@ -123,6 +128,21 @@ public class JDTClassNode extends ClassNode implements JDTNode {
 
     private boolean unfindable;
 
+    /** Member nodes of a binary type, by binding, that were created ahead of full initialization */
+    private Map<Binding, MethodNode> methodNodes;
+    private Map<Binding, FieldNode> fieldNodes;
+    private Map<String, PropertyNode> propertyNodes;
+    private int materializedMemberCount;
+
+    /**
+     * @return number of method, constructor and field nodes created for this type so far
+     */
+    public int getMaterializedMemberCount() {
+        synchronized (lazyInitLock) {
+            return materializedMemberCount;
+        }
+    }
+
     //--------------------------------------------------------------------------
 
     public JDTClassNode(final ReferenceBinding jdtReferenceBinding, final JDTResolver resolver) {
@@ -194,12 +214,119 @@ public class JDTClassNode extends ClassNode implements JDTNode {
                 }
                 setInterfaces(interfaces);
 
-                initializeMembers();
+                // members of binary types are materialized by name on request; see getDeclaredMethods(String)
+                if (!(jdtBinding instanceof BinaryTypeBinding)) {
+                    membersInitStarted = true;
+                    initializeMembers();
+                    membersInitDone = true;
+                }
                 lazyInitDone = true;
             }
         }
     }
 
+    private void lazyMemberInit() {
+        if (!membersInitDone && !isRedirectNode()) {
+            lazyClassInit();
+            synchronized (lazyInitLock) {
+                if (membersInitDone || membersInitStarted) return; membersInitStarted = true;
+
+                initializeMembers();
+                membersInitDone = true;
+            }
+        }
+    }
+
+    /**
+     * Determines if members of this type are still to be materialized one name at a time.
+     */
+    private boolean isDeferringMembers() {
+        if (!membersInitDone && !isRedirectNode()) {
+            lazyClassInit();
+            return !membersInitDone && !membersInitStarted;
+        }
+        return false;
+    }
+
+    @Override
+    public List<MethodNode> getMethods() {
+        lazyMemberInit();
+        return super.getMethods();
+    }
+
+    @Override
+    public List<MethodNode> getDeclaredMethods(final String name) {
+        if (!membersInitDone) {
+            synchronized (lazyInitLock) {
+                if (isDeferringMembers()) {
+                    char[] selector = name.toCharArray();
+                    List<MethodNode> nodes = new ArrayList<>(2);
+                    for (MethodBinding methodBinding : jdtBinding.getMethods(selector)) {
+                        if (!methodBinding.isConstructor()) nodes.add(getMethodNode(methodBinding));
+                    }
+                    for (MethodBinding methodBinding : ((BinaryTypeBinding) jdtBinding).infraMethods()) {
+                        if (CharOperation.equals(methodBinding.selector, selector)) nodes.add(getMethodNode(methodBinding));
+                    }
+                    return nodes;
+                }
+            }
+        }
+        return super.getDeclaredMethods(name);
+    }
+
+    @Override
+    public List<ConstructorNode> getDeclaredConstructors() {
+        lazyMemberInit();
+        return super.getDeclaredConstructors();
+    }
+
+    @Override
+    public List<FieldNode> getFields() {
+        lazyMemberInit();
+        return super.getFields();
+    }
+
+    @Override
+    public FieldNode getDeclaredField(final String name) {
+        if (!membersInitDone) {
+            synchronized (lazyInitLock) {
+                if (isDeferringMembers()) {
+                    FieldBinding fieldBinding = jdtBinding.getField(name.toCharArray(), true);
+                    return (fieldBinding != null ? getFieldNode(fieldBinding) : null);
+                }
+            }
+        }
+        return super.getDeclaredField(name);
+    }
+
+    private MethodNode getMethodNode(final MethodBinding methodBinding) {
+        MethodNode node = (methodNodes != null ? methodNodes.get(methodBinding) : null);
+        if (node == null) {
+            node = methodBinding.isConstructor() ? constructorBindingToConstructorNode(methodBinding) : methodBindingToMethodNode(methodBinding);
+            node.setDeclaringClass(this);
+            materializedMemberCount += 1;
+            if (!membersInitStarted) {
+                if (methodNodes == null) methodNodes = new IdentityHashMap<>();
+                methodNodes.put(methodBinding, node);
+            }
+        }
+        return node;
+    }
+
+    private FieldNode getFieldNode(final FieldBinding fieldBinding) {
+        FieldNode node = (fieldNodes != null ? fieldNodes.get(fieldBinding) : null);
+        if (node == null) {
+            node = fieldBindingToFieldNode(fieldBinding, groovyTypeDecl);
+            node.setDeclaringClass(this);
+            materializedMemberCount += 1;
+            if (!membersInitStarted) {
+                if (fieldNodes == null) fieldNodes = new IdentityHashMap<>();
+                fieldNodes.put(fieldBinding, node);
+            }
+        }
+        return node;
+    }
+
     private void initializeMembers() {
         if (isRedirectNode()) {
             // ClassNode is set up to get member information from the end of the "redirect" chain.
@@ -224,11 +351,11 @@ public class JDTClassNode extends ClassNode implements JDTNode {
             if (methodBindings != null) {
                 for (MethodBinding methodBinding : methodBindings) {
                     if (methodBinding.isConstructor()) {
-                        ConstructorNode cNode = constructorBindingToConstructorNode(methodBinding);
+                        ConstructorNode cNode = (ConstructorNode) getMethodNode(methodBinding);
                         pairs.add(new Object[] {methodBinding, cNode});
                         addConstructor(cNode);
                     } else {
-                        MethodNode mNode = methodBindingToMethodNode(methodBinding);
+                        MethodNode mNode = getMethodNode(methodBinding);
                         pairs.add(new Object[] {methodBinding, mNode});
                         addMethod(mNode);
                     }
@@ -239,11 +366,11 @@ public class JDTClassNode extends ClassNode implements JDTNode {
                 MethodBinding[] infraBindings = ((BinaryTypeBinding) jdtBinding).infraMethods();
                 for (MethodBinding methodBinding : infraBindings) {
                     if (methodBinding.isConstructor()) {
-                        ConstructorNode cNode = constructorBindingToConstructorNode(methodBinding);
+                        ConstructorNode cNode = (ConstructorNode) getMethodNode(methodBinding);
                         pairs.add(new Object[] {methodBinding, cNode});
                         addConstructor(cNode);
                     } else {
-                        MethodNode mNode = methodBindingToMethodNode(methodBinding);
+                        MethodNode mNode = getMethodNode(methodBinding);
                         pairs.add(new Object[] {methodBinding, mNode});
                         addMethod(mNode);
                     }
@@ -264,11 +391,11 @@ public class JDTClassNode extends ClassNode implements JDTNode {
                     if (syntheticMethodBindings != null) {
                         for (SyntheticMethodBinding syntheticBinding : syntheticMethodBindings) {
                             if (syntheticBinding.isConstructor()) {
-                                ConstructorNode cNode = constructorBindingToConstructorNode(syntheticBinding);
+                                ConstructorNode cNode = (ConstructorNode) getMethodNode(syntheticBinding);
                                 pairs.add(new Object[] {syntheticBinding, cNode});
                                 addConstructor(cNode);
                             } else {
-                                MethodNode mNode = methodBindingToMethodNode(syntheticBinding);
+                                MethodNode mNode = getMethodNode(syntheticBinding);
                                 pairs.add(new Object[] {syntheticBinding, mNode});
                                 addMethod(mNode);
                             }
@@ -297,10 +424,12 @@ public class JDTClassNode extends ClassNode implements JDTNode {
             }
             if (fieldBindings != null) {
                 for (FieldBinding fieldBinding : fieldBindings) {
-                    FieldNode fNode = fieldBindingToFieldNode(fieldBinding, groovyTypeDecl);
+                    FieldNode fNode = getFieldNode(fieldBinding);
                     addField(fNode);
                 }
             }
+            methodNodes = null;
+            fieldNodes = null;
 
             if (groovyTypeDecl != null && isTrait()) {
                 putNodeMetaData("trait.fields", groovyTypeDecl.getClassNode().getFields());
@@ -646,19 +775,12 @@ public class JDTClassNode extends ClassNode implements JDTNode {
                     } else {
                         // hydrate properties from getters
                         for (MethodNode mn : getMethods()) {
-                            if (mn.isPublic() && isGetter(mn) && isGenerated(mn) && !"getMetaClass".equals(mn.getName())) {
-                                String propertyName = Introspector.decapitalize(mn.getName().substring(mn.getName().startsWith("is") ? 2 : 3));
-                                // check for field with same name/type
-                                FieldNode fn = getField(propertyName);
-                                if (fn != null && fn.isPrivate() && fn.getType().equals(mn.getReturnType())) {
-                                    PropertyNode pn = new PropertyNode(fn, fn.getModifiers() & Flags.AccStatic + Flags.AccFinal, null, null);
-                                    pn.addAnnotations(fn.getAnnotations());
-                                    pn.setDeclaringClass(this);
-
-                                    super.getProperties().add(pn);
-                                }
+                            PropertyNode pn = getterToPropertyNode(mn);
+                            if (pn != null && !super.getProperties().contains(pn)) {
+                                super.getProperties().add(pn);
                             }
                         }
+                        propertyNodes = null;
                     }
                     bits |= PROPERTIES_INITIALIZED;
                 }
@@ -668,6 +790,49 @@ public class JDTClassNode extends ClassNode implements JDTNode {
         return Collections.unmodifiableList(super.getProperties());
     }
 
+    @Override
+    public PropertyNode getProperty(final String name) {
+        if (!membersInitDone && (bits & PROPERTIES_INITIALIZED) == 0 && groovyTypeDecl == null) {
+            synchronized (lazyInitLock) {
+                if (isDeferringMembers() && !name.isEmpty()) {
+                    // look for the generated getter(s) that getProperties() would hydrate a property from
+                    String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+                    if (Introspector.decapitalize(suffix).equals(name)) {
+                        for (String getterName : new String[] {"get" + suffix, "is" + suffix}) {
+                            for (MethodNode mn : getDeclaredMethods(getterName)) {
+                                PropertyNode pn = getterToPropertyNode(mn);
+                                if (pn != null) return pn;
+                            }
+                        }
+                    }
+                    return null;
+                }
+            }
+        }
+        return super.getProperty(name);
+    }
+
+    private PropertyNode getterToPropertyNode(final MethodNode mn) {
+        if (mn.isPublic() && isGetter(mn) && isGenerated(mn) && !"getMetaClass".equals(mn.getName())) {
+            String propertyName = Introspector.decapitalize(mn.getName().substring(mn.getName().startsWith("is") ? 2 : 3));
+            PropertyNode pn = (propertyNodes != null ? propertyNodes.get(propertyName) : null);
+            if (pn == null) {
+                // check for field with same name/type
+                FieldNode fn = getField(propertyName);
+                if (fn != null && fn.isPrivate() && fn.getType().equals(mn.getReturnType())) {
+                    pn = new PropertyNode(fn, fn.getModifiers() & Flags.AccStatic + Flags.AccFinal, null, null);
+                    pn.addAnnotations(fn.getAnnotations());
+                    pn.setDeclaringClass(this);
+
+                    if (propertyNodes == null) propertyNodes = new HashMap<>();
+                    propertyNodes.put(propertyName, pn);
+                }
+            }
+            return pn;
+        }
+        return null;
+    }
+
     private ClassNode resolveType(ClassNode cn) {
         int dims = 0;
         while (cn.isArray()) { dims += 1;
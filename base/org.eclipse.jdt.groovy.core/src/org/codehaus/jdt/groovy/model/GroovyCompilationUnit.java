@@ -25,6 +25,7 @@ import org.codehaus.groovy.classgen.GeneratorContext;
 import org.codehaus.groovy.eclipse.GroovyLogManager;
 import org.codehaus.groovy.eclipse.TraceCategory;
 import org.codehaus.jdt.groovy.integration.internal.MultiplexingSourceElementRequestorParser;
+import org.codehaus.jdt.groovy.internal.compiler.GroovyClassLoaderFactory;
 import org.codehaus.jdt.groovy.internal.compiler.ast.GroovyCompilationUnitDeclaration;
 import org.codehaus.jdt.groovy.model.ModuleNodeMapper.ModuleNodeInfo;
 import org.eclipse.core.resources.IProject;
@@ -107,26 +108,50 @@ public class GroovyCompilationUnit extends CompilationUnit {
             if (!this.isConsistent()) {
                 this.makeConsistent(null);
             }
-            boolean becameWorkingCopy = false;
-            ModuleNodeMapper.getInstance().lock();
-            // discard the working copy after finishing
-            // if there was no working copy to begin with
-            try {
-                becameWorkingCopy = (force && !this.isWorkingCopy());
-                if (becameWorkingCopy) {
-                    this.becomeWorkingCopy(null);
-                }
+            if (!force || this.isWorkingCopy()) {
                 JavaModelManager.PerWorkingCopyInfo info = this.getPerWorkingCopyInfo();
                 if (info != null) {
                     return ModuleNodeMapper.getInstance().get(info);
                 }
-            } finally {
+            }
+            if (force) {
+                ModuleNodeMapper mapper = ModuleNodeMapper.getInstance();
+                boolean isClosedUnit = !this.isWorkingCopy();
+                if (isClosedUnit) {
+                    ModuleNodeInfo moduleInfo = mapper.getClosedUnitInfo(this);
+                    if (moduleInfo != null) {
+                        return moduleInfo;
+                    }
+                }
+                // stamp and generations must predate the reconcile to be safe
+                long stamp = ModuleNodeMapper.getModificationStamp(this);
+                int generation = GroovyClassLoaderFactory.getClasspathGeneration(this.getJavaProject().getElementName());
+                long sourceGeneration = ModuleNodeMapper.getSourceGeneration(this);
+
+                // discard the working copy after finishing
+                // if there was no working copy to begin with
+                mapper.lock(this);
                 try {
+                    boolean becameWorkingCopy = !this.isWorkingCopy();
                     if (becameWorkingCopy) {
-                        this.discardWorkingCopy();
+                        this.becomeWorkingCopy(null);
+                    }
+                    try {
+                        JavaModelManager.PerWorkingCopyInfo info = this.getPerWorkingCopyInfo();
+                        if (info != null) {
+                            ModuleNodeInfo moduleInfo = mapper.get(info);
+                            if (moduleInfo != null && becameWorkingCopy && isClosedUnit) {
+                                mapper.putClosedUnitInfo(this, moduleInfo, stamp, generation, sourceGeneration);
+                            }
+                            return moduleInfo;
+                        }
+                    } finally {
+                        if (becameWorkingCopy) {
+                            this.discardWorkingCopy();
+                        }
                     }
                 } finally {
-                    ModuleNodeMapper.getInstance().unlock();
+                    mapper.unlock(this);
                 }
             }
         } catch (JavaModelException e) {
@@ -141,6 +166,7 @@ public class GroovyCompilationUnit extends CompilationUnit {
      * in the cache
      */
     public ModuleNodeInfo getNewModuleInfo() {
+        ModuleNodeMapper.getInstance().removeClosedUnitInfo(this);
         try {
             this.openWhenClosed(this.createElementInfo(), false/* or should it be true... ? */, new NullProgressMonitor());
         } catch (JavaModelException e) {
@@ -152,7 +178,7 @@ public class GroovyCompilationUnit extends CompilationUnit {
     @Override
     public void discardWorkingCopy() throws JavaModelException {
         // GRECLIPSE-804 must synchronize
-        ModuleNodeMapper.getInstance().lock();
+        ModuleNodeMapper.getInstance().lock(this);
         try {
             JavaModelManager.PerWorkingCopyInfo info = this.getPerWorkingCopyInfo();
             if (this.workingCopyInfoWillBeDiscarded(info)) {
@@ -160,7 +186,7 @@ public class GroovyCompilationUnit extends CompilationUnit {
             }
             super.discardWorkingCopy();
         } finally {
-            ModuleNodeMapper.getInstance().unlock();
+            ModuleNodeMapper.getInstance().unlock(this);
         }
     }
 
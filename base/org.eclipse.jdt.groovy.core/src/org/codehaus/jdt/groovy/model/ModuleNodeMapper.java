@@ -1,5 +1,5 @@
 /*
- * Copyright 2009-2023 the original author or authors.
+ * Copyright 2009-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,25 +15,44 @@
  */
 package org.codehaus.jdt.groovy.model;
 
-import java.util.HashMap;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
 
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.ast.MethodNode;
 import org.codehaus.groovy.ast.ModuleNode;
 import org.codehaus.groovy.ast.expr.ConstantExpression;
 import org.codehaus.groovy.ast.stmt.BlockStatement;
 import org.codehaus.groovy.ast.stmt.ReturnStatement;
 import org.codehaus.groovy.ast.stmt.Statement;
+import org.codehaus.jdt.groovy.internal.compiler.GroovyClassLoaderFactory;
 import org.codehaus.jdt.groovy.internal.compiler.ast.GroovyCompilationUnitDeclaration;
 import org.codehaus.jdt.groovy.internal.compiler.ast.JDTResolver;
-import org.eclipse.core.runtime.IProgressMonitor;
-import org.eclipse.core.runtime.IStatus;
-import org.eclipse.core.runtime.Status;
-import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.groovy.core.util.GroovyUtils;
 import org.eclipse.jdt.groovy.core.util.ReflectionUtils;
+import org.eclipse.jdt.groovy.search.InferenceResultStore;
+import org.eclipse.jdt.groovy.search.TypeHierarchyCache;
 import org.eclipse.jdt.internal.compiler.CompilationResult;
 import org.eclipse.jdt.internal.core.JavaModelManager.PerWorkingCopyInfo;
 
@@ -51,57 +70,64 @@ public class ModuleNodeMapper {
     }
 
     public static boolean isEmpty() {
-        return INSTANCE.infoToModuleMap.isEmpty();
+        return (size() == 0);
     }
 
     public static int size() {
+        INSTANCE.purgeDiscardedEntries();
         return INSTANCE.infoToModuleMap.size();
     }
 
     //
 
-    private final Map<PerWorkingCopyInfo, ModuleNodeInfo> infoToModuleMap = new HashMap<>();
+    /**
+     * Module nodes by working copy info.  Keys are weak so that the entry of a
+     * working copy that was discarded without going through {@link #remove} is
+     * purged once its info is collected.
+     */
+    private final Map<InfoKey, ModuleNodeInfo> infoToModuleMap = new ConcurrentHashMap<>();
 
-    private final ReentrantLock lock = new ReentrantLock(true);
+    private final ReferenceQueue<PerWorkingCopyInfo> discardedInfos = new ReferenceQueue<>();
 
-    public void lock() {
-        lock.lock();
+    /**
+     * Serializes working copy creation and disposal of a unit with respect to
+     * the cache; reads and writes of the cache itself do not take a lock.  The
+     * locks are striped by unit so that the module nodes of different units can
+     * be built concurrently.
+     */
+    private final ReentrantLock[] locks = new ReentrantLock[32];
+    {
+        Arrays.setAll(locks, i -> new ReentrantLock());
     }
 
-    public void unlock() {
-        lock.unlock();
+    public void lock(final GroovyCompilationUnit unit) {
+        getLock(unit).lock();
+    }
+
+    public void unlock(final GroovyCompilationUnit unit) {
+        getLock(unit).unlock();
+    }
+
+    private ReentrantLock getLock(final GroovyCompilationUnit unit) {
+        // equal handles share a working copy info, so they must share a lock
+        return locks[Math.floorMod(unit.hashCode(), locks.length)];
     }
 
     //--------------------------------------------------------------------------
 
     ModuleNodeInfo get(PerWorkingCopyInfo info) {
-        lock.lock();
-        try {
-            sweepAndPurgeModuleNodes();
-            return infoToModuleMap.get(info);
-        } finally {
-            lock.unlock();
-        }
+        expungeStaleEntries();
+        return infoToModuleMap.get(new InfoKey(info, null));
     }
 
     ModuleNodeInfo put(PerWorkingCopyInfo info, ModuleNodeInfo tuple) {
-        lock.lock();
-        try {
-            sweepAndPurgeModuleNodes();
-            return infoToModuleMap.put(info, tuple);
-        } finally {
-            lock.unlock();
-        }
+        expungeStaleEntries();
+        return infoToModuleMap.put(new InfoKey(info, discardedInfos), tuple);
     }
 
     ModuleNodeInfo remove(PerWorkingCopyInfo info) {
-        lock.lock();
-        try {
-            sweepAndPurgeModuleNodes();
-            return infoToModuleMap.remove(info);
-        } finally {
-            lock.unlock();
-        }
+        expungeStaleEntries();
+        return infoToModuleMap.remove(new InfoKey(info, null));
     }
 
     /**
@@ -109,33 +135,33 @@ public class ModuleNodeMapper {
      */
     void maybeCacheModuleNode(PerWorkingCopyInfo info, GroovyCompilationUnitDeclaration gcud) {
         if (info != null && gcud != null) {
-            if (lock.tryLock()) {
-                try {
-                    ModuleNode module = gcud.getModuleNode();
-                    if (module != null) {
-                        put(info, new ModuleNodeInfo(module, (JDTResolver) gcud.getCompilationUnit().getResolveVisitor(), gcud.compilationResult()));
-                    }
-                } finally {
-                    lock.unlock();
+            ModuleNode module = gcud.getModuleNode();
+            if (module != null) {
+                ModuleNodeInfo moduleInfo = new ModuleNodeInfo(module, (JDTResolver) gcud.getCompilationUnit().getResolveVisitor(), gcud.compilationResult());
+                ModuleNodeInfo previous = get(info);
+                if (previous != null) {
+                    moduleInfo.retainInferenceResults(previous);
                 }
-            } else {
-                // lock grabbed by someone else. rerun this operation later
-                new Job("Cache module node") {
-                    @Override
-                    protected IStatus run(IProgressMonitor monitor) {
-                        maybeCacheModuleNode(info, gcud);
-                        return Status.OK_STATUS;
-                    }
-                }.schedule();
+                put(info, moduleInfo);
             }
         }
     }
 
-    // GRECLIPSE-804 check to see that the stored nodes are correct and purge any stale elements
-    private void sweepAndPurgeModuleNodes() {
-        for (Iterator<PerWorkingCopyInfo> it = infoToModuleMap.keySet().iterator(); it.hasNext();) {
-            PerWorkingCopyInfo info = it.next();
+    private void expungeStaleEntries() {
+        for (Reference<? extends PerWorkingCopyInfo> ref; (ref = discardedInfos.poll()) != null;) {
+            infoToModuleMap.remove(ref);
+        }
+    }
 
+    // GRECLIPSE-804 check to see that the stored nodes are correct and purge any stale elements
+    private void purgeDiscardedEntries() {
+        expungeStaleEntries();
+        for (Iterator<InfoKey> it = infoToModuleMap.keySet().iterator(); it.hasNext();) {
+            PerWorkingCopyInfo info = it.next().get();
+            if (info == null) {
+                it.remove();
+                continue;
+            }
             Integer useCount = ReflectionUtils.getPrivateField(PerWorkingCopyInfo.class, "useCount", info);
             if (useCount != null && useCount <= 0) {
                 it.remove();
@@ -143,6 +169,212 @@ public class ModuleNodeMapper {
         }
     }
 
+    /**
+     * Weak, identity-based reference to a working copy info.
+     */
+    private static final class InfoKey extends WeakReference<PerWorkingCopyInfo> {
+
+        private final int hash;
+
+        InfoKey(final PerWorkingCopyInfo info, final ReferenceQueue<PerWorkingCopyInfo> queue) {
+            super(info, queue);
+            hash = System.identityHashCode(info);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof InfoKey)) {
+                return false;
+            }
+            PerWorkingCopyInfo info = get();
+            return (info != null && info == ((InfoKey) obj).get());
+        }
+    }
+
+    //--------------------------------------------------------------------------
+
+    /**
+     * Maximum number of module nodes of closed units to keep; set system
+     * property {@code greclipse.closedUnitModuleCacheSize} to zero to disable.
+     */
+    private static final int CLOSED_UNIT_CACHE_SIZE = Integer.getInteger("greclipse.closedUnitModuleCacheSize", 64);
+
+    /**
+     * Module nodes of units that are not working copies, in access order.
+     * Building one means a reconcile with bindings, so the most recently used
+     * are kept as long as memory permits.
+     */
+    private final Map<GroovyCompilationUnit, ClosedUnitEntry> closedUnitCache = new LinkedHashMap<GroovyCompilationUnit, ClosedUnitEntry>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<GroovyCompilationUnit, ClosedUnitEntry> eldest) {
+            return size() > CLOSED_UNIT_CACHE_SIZE;
+        }
+    };
+
+    private final AtomicLong closedUnitHits = new AtomicLong(), closedUnitMisses = new AtomicLong();
+
+    public static long getClosedUnitCacheHits() {
+        return INSTANCE.closedUnitHits.get();
+    }
+
+    public static long getClosedUnitCacheMisses() {
+        return INSTANCE.closedUnitMisses.get();
+    }
+
+    /**
+     * Discards the module nodes of the closed units of the given project.
+     */
+    public static void clearClosedUnitCache(final String projectName) {
+        synchronized (INSTANCE.closedUnitCache) {
+            INSTANCE.closedUnitCache.keySet().removeIf(unit -> unit.getJavaProject().getElementName().equals(projectName));
+        }
+    }
+
+    /**
+     * @return module info cached for {@code unit} if its resource, the project
+     *     classpath and the sources of the project and the projects it requires
+     *     have not changed since it was built, else {@code null}
+     */
+    ModuleNodeInfo getClosedUnitInfo(final GroovyCompilationUnit unit) {
+        if (CLOSED_UNIT_CACHE_SIZE > 0) {
+            long stamp = getModificationStamp(unit);
+            int generation = GroovyClassLoaderFactory.getClasspathGeneration(unit.getJavaProject().getElementName());
+            long sourceGeneration = getSourceGeneration(unit);
+            synchronized (closedUnitCache) {
+                ClosedUnitEntry entry = closedUnitCache.get(unit);
+                if (entry != null) {
+                    ModuleNodeInfo info = entry.info.get();
+                    if (info != null && entry.stamp == stamp && entry.generation == generation && entry.sourceGeneration == sourceGeneration) {
+                        closedUnitHits.incrementAndGet();
+                        return info;
+                    }
+                    closedUnitCache.remove(unit);
+                }
+            }
+            closedUnitMisses.incrementAndGet();
+        }
+        return null;
+    }
+
+    void putClosedUnitInfo(final GroovyCompilationUnit unit, final ModuleNodeInfo info, final long stamp, final int generation, final long sourceGeneration) {
+        if (CLOSED_UNIT_CACHE_SIZE > 0 && stamp != IResource.NULL_STAMP) {
+            synchronized (closedUnitCache) {
+                closedUnitCache.put(unit, new ClosedUnitEntry(info, stamp, generation, sourceGeneration));
+            }
+        }
+    }
+
+    void removeClosedUnitInfo(final GroovyCompilationUnit unit) {
+        synchronized (closedUnitCache) {
+            closedUnitCache.remove(unit);
+        }
+    }
+
+    static long getModificationStamp(final GroovyCompilationUnit unit) {
+        IResource resource = unit.getResource();
+        return (resource != null ? resource.getModificationStamp() : IResource.NULL_STAMP);
+    }
+
+    private static final class ClosedUnitEntry {
+        final SoftReference<ModuleNodeInfo> info;
+        final long stamp;
+        final int generation;
+        final long sourceGeneration;
+
+        ClosedUnitEntry(final ModuleNodeInfo info, final long stamp, final int generation, final long sourceGeneration) {
+            this.info = new SoftReference<>(info);
+            this.stamp = stamp;
+            this.generation = generation;
+            this.sourceGeneration = sourceGeneration;
+        }
+    }
+
+    //--------------------------------------------------------------------------
+
+    private final AtomicLong sourceChanges = new AtomicLong();
+
+    /**
+     * Sequence number of the latest source change by project name.  Numbers
+     * are unique across projects, so the latest change of a set of projects
+     * identifies the state of their sources.
+     */
+    private final Map<String, Long> projectSourceChanges = new ConcurrentHashMap<>();
+
+    private final IElementChangedListener sourceChangeListener = event -> {
+        Set<String> projectNames = new HashSet<>();
+        collectSourceChanges(event.getDelta(), projectNames);
+        for (String projectName : projectNames) {
+            projectSourceChanges.put(projectName, sourceChanges.incrementAndGet());
+        }
+    };
+
+    /**
+     * Starts tracking changes to sources and working copies, which may affect
+     * the module nodes of closed units in the same or dependent projects.
+     */
+    public static void addSourceChangeListener() {
+        JavaCore.addElementChangedListener(INSTANCE.sourceChangeListener, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+    }
+
+    public static void removeSourceChangeListener() {
+        JavaCore.removeElementChangedListener(INSTANCE.sourceChangeListener);
+    }
+
+    private static void collectSourceChanges(final IJavaElementDelta delta, final Set<String> projectNames) {
+        IJavaElement element = delta.getElement();
+        if (element.getElementType() >= IJavaElement.COMPILATION_UNIT) {
+            // becoming or discarding a working copy does not change the source
+            if (delta.getKind() != IJavaElementDelta.CHANGED ||
+                    (delta.getFlags() & ~(IJavaElementDelta.F_PRIMARY_WORKING_COPY | IJavaElementDelta.F_AST_AFFECTED)) != 0) {
+                projectNames.add(element.getJavaProject().getElementName());
+            }
+        } else if (element.getElementType() >= IJavaElement.JAVA_PROJECT && (delta.getKind() != IJavaElementDelta.CHANGED ||
+                (delta.getFlags() & (IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED)) != 0)) {
+            projectNames.add(element.getJavaProject().getElementName());
+        } else {
+            for (IJavaElementDelta child : delta.getAffectedChildren()) {
+                collectSourceChanges(child, projectNames);
+            }
+        }
+    }
+
+    /**
+     * @return sequence number of the latest source change in the project of
+     *     {@code unit} or any of the projects it requires
+     */
+    static long getSourceGeneration(final GroovyCompilationUnit unit) {
+        Set<String> projectNames = new HashSet<>();
+        collectRequiredProjectNames(unit.getJavaProject(), projectNames);
+
+        long generation = 0;
+        for (String projectName : projectNames) {
+            generation = Math.max(generation, INSTANCE.projectSourceChanges.getOrDefault(projectName, 0L));
+        }
+        return generation;
+    }
+
+    private static void collectRequiredProjectNames(final IJavaProject javaProject, final Set<String> projectNames) {
+        if (projectNames.add(javaProject.getElementName())) {
+            try {
+                for (String projectName : javaProject.getRequiredProjectNames()) {
+                    collectRequiredProjectNames(javaProject.getJavaModel().getJavaProject(projectName), projectNames);
+                }
+            } catch (JavaModelException ignore) {
+                // project is closed or missing; its classpath change is tracked separately
+            }
+        }
+    }
+
     //--------------------------------------------------------------------------
 
     public static class ModuleNodeInfo {
@@ -161,6 +393,107 @@ public class ModuleNodeMapper {
             this.result = result;
         }
 
+        private final TypeHierarchyCache typeHierarchies = new TypeHierarchyCache();
+
+        /**
+         * @return type hierarchies of the types referenced by {@link #module}
+         */
+        public TypeHierarchyCache getTypeHierarchies() {
+            return typeHierarchies;
+        }
+
+        private InferenceResultStore inferenceResults;
+
+        /**
+         * @return results of a complete type inferencing visit of {@link #module} or {@code null}
+         */
+        public synchronized InferenceResultStore getInferenceResults() {
+            if (inferenceResults != null && !inferenceResults.isCurrent()) {
+                inferenceResults = null;
+            }
+            return inferenceResults;
+        }
+
+        /**
+         * Stores the results of a complete visit, unless there are results
+         * already.  Results that were all inferred for {@link #module} replace
+         * results that were partly carried over from the previous module node.
+         */
+        public synchronized void setInferenceResults(final InferenceResultStore inferenceResults) {
+            InferenceResultStore current = getInferenceResults();
+            if ((current == null || (current.hasCarriedResults() && !inferenceResults.hasCarriedResults())) && inferenceResults.isCurrent()) {
+                this.inferenceResults = inferenceResults;
+                this.retainedInferenceResults = null;
+            }
+        }
+
+        private InferenceResultStore retainedInferenceResults;
+
+        /**
+         * @return results of the module node this one replaced that are still
+         *     valid for some of the methods of {@link #module} or {@code null}
+         */
+        public synchronized InferenceResultStore getRetainedInferenceResults() {
+            if (retainedInferenceResults != null && !retainedInferenceResults.isCurrent()) {
+                retainedInferenceResults = null;
+            }
+            return retainedInferenceResults;
+        }
+
+        /**
+         * Keeps the inference results of {@code previous} for the methods that
+         * precede an edit confined to the body of a single method.
+         */
+        void retainInferenceResults(final ModuleNodeInfo previous) {
+            InferenceResultStore results = previous.getInferenceResults();
+            if (results == null || result == null || previous.result == null ||
+                    result.compilationUnit == null || previous.result.compilationUnit == null) {
+                return;
+            }
+            char[] oldContents = previous.result.compilationUnit.getContents();
+            char[] newContents = result.compilationUnit.getContents();
+            if (oldContents == null || newContents == null || Arrays.equals(oldContents, newContents)) {
+                return;
+            }
+
+            int start = 0, oldEnd = oldContents.length, newEnd = newContents.length;
+            while (start < oldEnd && start < newEnd && oldContents[start] == newContents[start]) {
+                start += 1;
+            }
+            while (oldEnd > start && newEnd > start && oldContents[oldEnd - 1] == newContents[newEnd - 1]) {
+                oldEnd -= 1;
+                newEnd -= 1;
+            }
+
+            MethodNode oldMethod = findEnclosingMethod(previous.module, start, oldEnd);
+            MethodNode newMethod = findEnclosingMethod(module, start, newEnd);
+            if (oldMethod != null && newMethod != null && oldMethod.getStart() == newMethod.getStart() &&
+                    oldMethod.getName().equals(newMethod.getName())) {
+                synchronized (this) {
+                    retainedInferenceResults = results.retain(start, oldMethod);
+                }
+            }
+        }
+
+        /**
+         * @return outermost method whose body strictly contains the given source range
+         */
+        private static MethodNode findEnclosingMethod(final ModuleNode module, final int start, final int end) {
+            MethodNode enclosingMethod = null;
+            for (ClassNode classNode : module.getClasses()) {
+                List<MethodNode> methodNodes = new ArrayList<>(classNode.getDeclaredConstructors());
+                methodNodes.addAll(classNode.getMethods());
+                for (MethodNode methodNode : methodNodes) {
+                    Statement code = methodNode.getCode();
+                    if (code != null && code.getEnd() > 0 && code.getStart() < start && end < code.getEnd() &&
+                            (enclosingMethod == null || code.getStart() < enclosingMethod.getCode().getStart())) {
+                        enclosingMethod = methodNode;
+                    }
+                }
+            }
+            return enclosingMethod;
+        }
+
         public final boolean isEmpty() {
             if (module.getClasses().size() > 1 || !module.getMethods().isEmpty() ||
                     !module.getImports().isEmpty() || !module.getStaticImports().isEmpty() ||
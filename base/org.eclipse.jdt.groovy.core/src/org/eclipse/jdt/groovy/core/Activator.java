@@ -1,5 +1,5 @@
 /*
- * Copyright 2009-2023 the original author or authors.
+ * Copyright 2009-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,7 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
+import org.codehaus.jdt.groovy.model.ModuleNodeMapper;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.ProjectScope;
@@ -69,12 +70,16 @@ public class Activator extends Plugin {
         factory = new GroovyResourceAdapter();
         IAdapterManager manager = getAdapterManager();
         manager.registerAdapters(factory, IResource.class);
+
+        ModuleNodeMapper.addSourceChangeListener();
     }
 
     private IAdapterFactory factory;
 
     @Override
     public void stop(BundleContext context) throws Exception {
+        ModuleNodeMapper.removeSourceChangeListener();
+
         IAdapterManager manager = getAdapterManager();
         manager.unregisterAdapters(factory);
         factory = null;
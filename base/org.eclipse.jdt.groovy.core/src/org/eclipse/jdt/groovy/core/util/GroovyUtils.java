@@ -16,6 +16,7 @@
 package org.eclipse.jdt.groovy.core.util;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
@@ -81,26 +82,32 @@ public class GroovyUtils {
         return Version.valueOf(version);
     }
 
-    // FIXASC don't use this any more?
+    /**
+     * @return positions of line separators in the form of {@code CompilationResult#lineSeparatorPositions}
+     */
     public static int[] getSourceLineSeparatorsIn(char[] code) {
-        List<Integer> lineSeparatorsCollection = new ArrayList<>();
+        int[] lineSepPositions = new int[32];
+        int count = 0;
         for (int i = 0, max = code.length; i < max; i += 1) {
+            int position;
             if (code[i] == '\r') {
                 if ((i + 1) < max && code[i + 1] == '\n') {// \r\n
-                    lineSeparatorsCollection.add(i + 1); // add the position of the \n
+                    position = i + 1; // add the position of the \n
                     i += 1;
                 } else {
-                    lineSeparatorsCollection.add(i); // add the position of the \r
+                    position = i; // add the position of the \r
                 }
             } else if (code[i] == '\n') {
-                lineSeparatorsCollection.add(i);
+                position = i;
+            } else {
+                continue;
             }
+            if (count == lineSepPositions.length) {
+                lineSepPositions = Arrays.copyOf(lineSepPositions, count * 2);
+            }
+            lineSepPositions[count++] = position;
         }
-        int[] lineSepPositions = new int[lineSeparatorsCollection.size()];
-        for (int i = 0; i < lineSeparatorsCollection.size(); i += 1) {
-            lineSepPositions[i] = lineSeparatorsCollection.get(i);
-        }
-        return lineSepPositions;
+        return Arrays.copyOf(lineSepPositions, count);
     }
 
     /**
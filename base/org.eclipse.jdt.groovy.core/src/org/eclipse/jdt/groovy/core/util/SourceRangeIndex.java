@@ -0,0 +1,191 @@
+/*
+ * Copyright 2009-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.jdt.groovy.core.util;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.codehaus.groovy.ast.ASTNode;
+import org.codehaus.groovy.ast.AnnotatedNode;
+import org.codehaus.groovy.ast.AnnotationNode;
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.ast.FieldNode;
+import org.codehaus.groovy.ast.ImportNode;
+import org.codehaus.groovy.ast.MethodNode;
+import org.codehaus.groovy.ast.ModuleNode;
+import org.codehaus.groovy.ast.PackageNode;
+import org.codehaus.groovy.ast.Parameter;
+import org.codehaus.groovy.ast.PropertyNode;
+import org.codehaus.groovy.ast.expr.Expression;
+import org.codehaus.groovy.ast.stmt.Statement;
+
+/**
+ * Immutable index of the source extents of a module's declarations (classes,
+ * fields, properties, methods, imports and package).  The extent of a declaration
+ * is the smallest range that covers the declaration and everything that
+ * {@link DepthFirstVisitor} visits under it.  So a declaration whose extent does
+ * not cover a region has nothing beneath it that covers the region and node
+ * finders can skip it entirely.
+ * <p>
+ * The index is stored with the module, so node finders that run repeatedly over
+ * the same module (selection, hover, occurrences, etc.) build it once.
+ */
+public final class SourceRangeIndex {
+
+    /**
+     * Returns the index for the given module, building it on first request.
+     */
+    public static SourceRangeIndex of(final ModuleNode module) {
+        synchronized (module) {
+            return module.getNodeMetaData(SourceRangeIndex.class, x -> new SourceRangeIndex(module));
+        }
+    }
+
+    //--------------------------------------------------------------------------
+
+    private final Map<ASTNode, int[]> extents;
+
+    private SourceRangeIndex(final ModuleNode module) {
+        Builder builder = new Builder();
+        builder.visitModule(module);
+        extents = builder.extents;
+    }
+
+    /**
+     * Determines if the declaration or anything beneath it may cover the given
+     * source range.  Declarations that were not indexed are assumed to.
+     */
+    public boolean mayEnclose(final ASTNode declaration, final int offset, final int length) {
+        int[] extent = extents.get(declaration);
+        return (extent == null || (extent[0] <= offset && offset + length <= extent[1]));
+    }
+
+    //--------------------------------------------------------------------------
+
+    private static class Builder extends DepthFirstVisitor {
+
+        final Map<ASTNode, int[]> extents = new IdentityHashMap<>();
+
+        private final Deque<int[]> open = new ArrayDeque<>();
+
+        private void record(final ASTNode node) {
+            if (node.getEnd() > 0) {
+                widen(node.getStart(), node.getEnd());
+            }
+        }
+
+        private void widen(final int start, final int end) {
+            int[] extent = open.peek();
+            if (extent != null) {
+                extent[0] = Math.min(extent[0], start);
+                extent[1] = Math.max(extent[1], end);
+            }
+        }
+
+        private void enter(final ASTNode node) {
+            open.push(new int[] {Integer.MAX_VALUE, Integer.MIN_VALUE});
+            if (node.getEnd() > 0) {
+                widen(node.getStart(), node.getEnd());
+            }
+            if (node instanceof AnnotatedNode && ((AnnotatedNode) node).getNameEnd() > 0) {
+                widen(((AnnotatedNode) node).getNameStart(), ((AnnotatedNode) node).getNameEnd() + 1);
+            }
+        }
+
+        private void leave(final ASTNode node) {
+            int[] extent = open.pop();
+            int[] merged = extents.get(node); // some declarations are visited twice
+            if (merged != null) {
+                extent[0] = Math.min(extent[0], merged[0]);
+                extent[1] = Math.max(extent[1], merged[1]);
+            }
+            extents.put(node, extent);
+
+            if (extent[0] <= extent[1]) {
+                widen(extent[0], extent[1]);
+            }
+        }
+
+        @Override
+        public void visitPackage(final PackageNode node) {
+            enter(node);
+            super.visitPackage(node);
+            leave(node);
+        }
+
+        @Override
+        public void visitImport(final ImportNode node) {
+            enter(node);
+            super.visitImport(node);
+            leave(node);
+        }
+
+        @Override
+        public void visitClass(final ClassNode node) {
+            enter(node);
+            super.visitClass(node);
+            leave(node);
+        }
+
+        @Override
+        public void visitProperty(final PropertyNode node) {
+            enter(node);
+            super.visitProperty(node);
+            leave(node);
+        }
+
+        @Override
+        public void visitField(final FieldNode node) {
+            enter(node);
+            super.visitField(node);
+            leave(node);
+        }
+
+        @Override
+        public void visitMethod(final MethodNode node) {
+            if (node == runMethod) return;
+            enter(node);
+            super.visitMethod(node);
+            leave(node);
+        }
+
+        @Override
+        protected void visitAnnotation(final AnnotationNode node) {
+            super.visitAnnotation(node);
+            record(node);
+        }
+
+        @Override
+        protected void visitParameter(final Parameter parameter) {
+            super.visitParameter(parameter);
+            record(parameter);
+        }
+
+        @Override
+        protected void visitExpression(final Expression expression) {
+            super.visitExpression(expression);
+            record(expression);
+        }
+
+        @Override
+        protected void visitStatement(final Statement statement) {
+            super.visitStatement(statement);
+            record(statement);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2009-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.jdt.groovy.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchRequestor;
+
+/**
+ * Holds on to the matches found in one possible match so that a search that
+ * runs on another thread can report them to the original requestor later, in
+ * a fixed order and on the thread that requested the search.
+ */
+public class BufferedSearchRequestor extends SearchRequestor {
+
+    private final SearchRequestor requestor;
+    private final List<SearchMatch> matches = new ArrayList<>();
+
+    public BufferedSearchRequestor(final SearchRequestor requestor) {
+        this.requestor = requestor;
+    }
+
+    @Override
+    public void acceptSearchMatch(final SearchMatch match) {
+        matches.add(match);
+    }
+
+    /**
+     * Reports the held matches to the original requestor in the order found.
+     */
+    public void flush() throws CoreException {
+        for (SearchMatch match : matches) {
+            requestor.acceptSearchMatch(match);
+        }
+        matches.clear();
+    }
+
+    /**
+     * @return the requestor that matches are ultimately reported to
+     */
+    static SearchRequestor unwrap(final SearchRequestor requestor) {
+        if (requestor instanceof BufferedSearchRequestor) {
+            return ((BufferedSearchRequestor) requestor).requestor;
+        }
+        return requestor;
+    }
+}
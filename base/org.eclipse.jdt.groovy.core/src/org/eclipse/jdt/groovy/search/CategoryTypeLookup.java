@@ -58,11 +58,9 @@ public class CategoryTypeLookup implements ITypeLookup {
             List<MethodNode> candidates = new ArrayList<>();
 
             if (isMethodPointer || (scope.isMethodCall() && scope.getWormhole().get("lhs") != node)) {
-                for (ClassNode category : scope.getCategoryNames()) {
-                    for (MethodNode method : category.getDeclaredMethods(simpleName)) {
-                        if (isCompatibleCategoryMethod(method, selfType, scope)) {
-                            candidates.add(method);
-                        }
+                for (MethodNode method : scope.getCategoryMethods(simpleName)) {
+                    if (isCompatibleCategoryMethod(method, selfType, scope)) {
+                        candidates.add(method);
                     }
                 }
             }
@@ -70,13 +68,11 @@ public class CategoryTypeLookup implements ITypeLookup {
                 for (AccessorSupport kind : AccessorSupport.values()) {
                     String methodName = kind.createAccessorName(simpleName);
                     if (methodName != null) {
-                        for (ClassNode category : scope.getCategoryNames()) {
-                            for (MethodNode method : category.getDeclaredMethods(methodName)) {
-                                if (kind.isAccessorKind(method, true) && isCompatibleCategoryMethod(method, selfType, scope) &&
-                                        // GROOVY-5245: isPropName() methods cannot be used for bean-style property expressions
-                                        (kind != AccessorSupport.ISSER || isDefaultGroovyMethod(method, scope) || GroovyUtils.getGroovyVersion().getMajor() > 3)) {
-                                    candidates.add(method);
-                                }
+                        for (MethodNode method : scope.getCategoryMethods(methodName)) {
+                            if (kind.isAccessorKind(method, true) && isCompatibleCategoryMethod(method, selfType, scope) &&
+                                    // GROOVY-5245: isPropName() methods cannot be used for bean-style property expressions
+                                    (kind != AccessorSupport.ISSER || isDefaultGroovyMethod(method, scope) || GroovyUtils.getGroovyVersion().getMajor() > 3)) {
+                                candidates.add(method);
                             }
                         }
                     }
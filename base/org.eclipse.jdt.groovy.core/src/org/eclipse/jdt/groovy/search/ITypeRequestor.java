@@ -1,5 +1,5 @@
 /*
- * Copyright 2009-2023 the original author or authors.
+ * Copyright 2009-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,6 +27,37 @@ public interface ITypeRequestor {
      */
     VisitStatus acceptASTNode(ASTNode node, TypeLookupResult result, IJavaElement enclosingElement);
 
+    /**
+     * Indicates if results inferred for the module node that the current one
+     * replaced may be replayed for methods unaffected by an edit.  Their nodes
+     * and declarations are not those of the current module node, so only
+     * requestors that do not compare them by identity or keep them should
+     * return {@code true}.
+     *
+     * @see TypeInferencingVisitorWithRequestor#replayCompilationUnit(ITypeRequestor)
+     */
+    default boolean acceptsCarriedResults() {
+        return false;
+    }
+
+    /**
+     * @return requestor that delegates to {@code requestor} and accepts carried results
+     * @see #acceptsCarriedResults()
+     */
+    static ITypeRequestor acceptingCarriedResults(final ITypeRequestor requestor) {
+        return new ITypeRequestor() {
+            @Override
+            public VisitStatus acceptASTNode(final ASTNode node, final TypeLookupResult result, final IJavaElement enclosingElement) {
+                return requestor.acceptASTNode(node, result, enclosingElement);
+            }
+
+            @Override
+            public boolean acceptsCarriedResults() {
+                return true;
+            }
+        };
+    }
+
     /**
      * Specifies whether the visit should continue, the branch should be canceled, or the entire visit should be stopped.
      */
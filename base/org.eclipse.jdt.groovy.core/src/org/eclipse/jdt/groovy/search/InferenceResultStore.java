@@ -0,0 +1,279 @@
+/*
+ * Copyright 2009-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.jdt.groovy.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.codehaus.groovy.ast.ASTNode;
+import org.codehaus.groovy.ast.MethodNode;
+import org.codehaus.jdt.groovy.internal.compiler.GroovyClassLoaderFactory;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.ISourceRange;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.groovy.search.ITypeRequestor.VisitStatus;
+
+/**
+ * Results of one complete type inferencing visit of a module node, in visit
+ * order.  Stored with the module node; when the module node is replaced after
+ * an edit, the results of the methods unaffected by the edit are retained.
+ * <p>
+ * Retained results refer to the nodes and declarations of the module node
+ * they were inferred for, so they are carried across one edit at most: the
+ * results of a visit that replayed them are not retained again.
+ *
+ * @see TypeInferencingVisitorWithRequestor#replayCompilationUnit(ITypeRequestor)
+ */
+public final class InferenceResultStore {
+
+    private static final class Entry {
+        final ASTNode node;
+        final TypeLookupResult result;
+        final IJavaElement enclosingElement;
+        final boolean carried;
+
+        Entry(final ASTNode node, final TypeLookupResult result, final IJavaElement enclosingElement, final boolean carried) {
+            this.node = node;
+            this.result = result;
+            this.enclosingElement = enclosingElement;
+            this.carried = carried;
+        }
+    }
+
+    /**
+     * Incremented whenever the contributions that results were inferred from
+     * change outside of the module node for all projects: type lookups or DSLDs.
+     */
+    private static final AtomicInteger stamp = new AtomicInteger();
+
+    /**
+     * Incremented by project whenever the contributions that results were
+     * inferred from change for one project: classpath or DSLDs.
+     */
+    private static final Map<String, Integer> projectStamps = new ConcurrentHashMap<>();
+
+    static {
+        GroovyClassLoaderFactory.addClearCacheListener(InferenceResultStore::invalidate);
+    }
+
+    /**
+     * Invalidates the recorded and retained results of all module nodes.
+     */
+    public static void invalidateAll() {
+        stamp.incrementAndGet();
+    }
+
+    /**
+     * Invalidates the recorded and retained results of the module nodes of the
+     * given project.
+     */
+    public static void invalidate(final String projectName) {
+        projectStamps.merge(projectName, 1, Integer::sum);
+    }
+
+    private final String projectName;
+    private final int recordedStamp, recordedProjectStamp;
+    private final List<Entry> entries = new ArrayList<>();
+    private final Map<ASTNode, TypeLookupResult> resultsByNode = new IdentityHashMap<>();
+    private boolean hasCarriedResults;
+
+    // results of the previous module node by method; only set for retained results
+    private Map<IJavaElement, List<Entry>> entriesByMethod;
+    private int retainedLimit;
+
+    InferenceResultStore(final String projectName) {
+        this(projectName, stamp.get(), projectStamps.getOrDefault(projectName, 0));
+    }
+
+    private InferenceResultStore(final String projectName, final int recordedStamp, final int recordedProjectStamp) {
+        this.projectName = projectName;
+        this.recordedStamp = recordedStamp;
+        this.recordedProjectStamp = recordedProjectStamp;
+    }
+
+    /**
+     * @return {@code false} if the results were invalidated since recording began
+     */
+    public boolean isCurrent() {
+        return (recordedStamp == stamp.get() && recordedProjectStamp == projectStamps.getOrDefault(projectName, 0));
+    }
+
+    /**
+     * @param carried indicates the result was replayed from the retained
+     *     results of the module node that this one replaced
+     */
+    void record(final ASTNode node, final TypeLookupResult result, final IJavaElement enclosingElement, final boolean carried) {
+        entries.add(new Entry(node, result, enclosingElement, carried));
+        resultsByNode.put(node, result);
+        hasCarriedResults |= carried;
+    }
+
+    /**
+     * @return {@code true} if some of the results refer to the nodes and
+     *     declarations of the module node that this one replaced
+     */
+    public boolean hasCarriedResults() {
+        return hasCarriedResults;
+    }
+
+    /**
+     * @return the result most recently accepted for {@code node} or {@code null}
+     */
+    public TypeLookupResult getResult(final ASTNode node) {
+        return resultsByNode.get(node);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Sends the recorded results to {@code requestor} in visit order.
+     * {@link VisitStatus#CANCEL_BRANCH} skips the following results for nodes
+     * within the source range of the cancelling node, and
+     * {@link VisitStatus#CANCEL_MEMBER} skips the following results within the
+     * same (or a nested) enclosing element.
+     */
+    void replay(final ITypeRequestor requestor) {
+        for (int i = 0, n = entries.size(); i < n; i += 1) {
+            Entry entry = entries.get(i);
+            switch (requestor.acceptASTNode(entry.node, entry.result, entry.enclosingElement)) {
+            case CONTINUE:
+                break;
+            case CANCEL_BRANCH:
+                while (i + 1 < n && encloses(entry.node, entries.get(i + 1).node)) {
+                    i += 1;
+                }
+                break;
+            case CANCEL_MEMBER:
+                while (i + 1 < n && encloses(entry.enclosingElement, entries.get(i + 1).enclosingElement)) {
+                    i += 1;
+                }
+                break;
+            case STOP_VISIT:
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the results that remain valid after an edit that starts at
+     * {@code offset} and is confined to the body of {@code editedMethod}: those
+     * of the methods that end before the edit and do not refer to the edited
+     * method.  The edited method's signature is unchanged, but its inferred
+     * return type and the variables it assigns may not be.  Results that were
+     * carried over from an earlier module node are not retained again.
+     */
+    public InferenceResultStore retain(final int offset, final MethodNode editedMethod) {
+        Map<IJavaElement, List<Entry>> byMethod = new HashMap<>();
+        Set<IJavaElement> dependent = new HashSet<>();
+        for (Entry entry : entries) {
+            IJavaElement method = getOutermostMethod(entry.enclosingElement);
+            if (method != null) {
+                byMethod.computeIfAbsent(method, x -> new ArrayList<>()).add(entry);
+                if (entry.carried || refersTo(entry.result, editedMethod)) {
+                    dependent.add(method);
+                }
+            }
+        }
+        byMethod.keySet().removeAll(dependent);
+
+        InferenceResultStore retained = new InferenceResultStore(projectName, recordedStamp, recordedProjectStamp);
+        retained.entriesByMethod = byMethod;
+        retained.retainedLimit = offset;
+        return retained;
+    }
+
+    /**
+     * Sends the retained results for {@code method} to {@code requestor} in
+     * visit order.
+     *
+     * @return {@code null} if the results for {@code method} cannot be reused;
+     *     otherwise the status that ended the replay
+     */
+    VisitStatus replay(final ITypeRequestor requestor, final IMethod method) {
+        List<Entry> methodEntries = (entriesByMethod != null ? entriesByMethod.get(method) : null);
+        if (methodEntries == null || !endsBefore(method, retainedLimit)) {
+            return null;
+        }
+        for (int i = 0, n = methodEntries.size(); i < n; i += 1) {
+            Entry entry = methodEntries.get(i);
+            VisitStatus status = requestor.acceptASTNode(entry.node, entry.result, entry.enclosingElement);
+            switch (status) {
+            case CONTINUE:
+                break;
+            case CANCEL_BRANCH:
+                while (i + 1 < n && encloses(entry.node, methodEntries.get(i + 1).node)) {
+                    i += 1;
+                }
+                break;
+            case CANCEL_MEMBER:
+            case STOP_VISIT:
+                return status;
+            }
+        }
+        return VisitStatus.CONTINUE;
+    }
+
+    private static boolean endsBefore(final IMethod method, final int offset) {
+        try {
+            ISourceRange range = method.getSourceRange();
+            return (range != null && range.getOffset() >= 0 && range.getOffset() + range.getLength() <= offset);
+        } catch (JavaModelException e) {
+            return false;
+        }
+    }
+
+    private static IJavaElement getOutermostMethod(final IJavaElement element) {
+        IJavaElement method = null;
+        for (IJavaElement e = element; e != null; e = e.getParent()) {
+            if (e.getElementType() == IJavaElement.METHOD) {
+                method = e;
+            }
+        }
+        return method;
+    }
+
+    private static boolean refersTo(final TypeLookupResult result, final MethodNode method) {
+        if (result.declaration instanceof MethodNode) {
+            MethodNode declaration = (MethodNode) result.declaration;
+            return declaration.getName().equals(method.getName()) && declaration.getDeclaringClass() != null &&
+                declaration.getDeclaringClass().getName().equals(method.getDeclaringClass().getName());
+        }
+        return false;
+    }
+
+    private static boolean encloses(final ASTNode outer, final ASTNode inner) {
+        return outer.getEnd() > 0 && inner.getEnd() > 0 && outer.getStart() <= inner.getStart() && inner.getEnd() <= outer.getEnd();
+    }
+
+    private static boolean encloses(final IJavaElement outer, final IJavaElement inner) {
+        for (IJavaElement element = inner; element != null; element = element.getParent()) {
+            if (element.equals(outer)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
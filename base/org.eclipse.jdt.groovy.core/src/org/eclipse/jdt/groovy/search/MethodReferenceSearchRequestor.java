@@ -118,7 +118,7 @@ public class MethodReferenceSearchRequestor implements ITypeRequestor {
 
         findReferences = (Boolean) ReflectionUtils.getPrivateField(MethodPattern.class, "findReferences", pattern);
         findDeclarations = (Boolean) ReflectionUtils.getPrivateField(MethodPattern.class, "findDeclarations", pattern);
-        skipPseudoProperties = requestor.getClass().getName().equals("org.eclipse.jdt.internal.corext.refactoring.rename.MethodOccurenceCollector");
+        skipPseudoProperties = BufferedSearchRequestor.unwrap(requestor).getClass().getName().equals("org.eclipse.jdt.internal.corext.refactoring.rename.MethodOccurenceCollector");
     }
 
     protected static String[] getParameterTypeNames(MethodPattern pattern, String[] parameterTypeSignatures, IType declaringType) {
@@ -426,7 +426,7 @@ public class MethodReferenceSearchRequestor implements ITypeRequestor {
 
     private int getAccuracy(TypeConfidence confidence) {
         //                                                   improves call hierarchy (inaccurate matches aren't displayed)
-        if (confidence.isAtLeast(TypeConfidence.INFERRED) || requestor.getClass().getName().contains(".callhierarchy.")) {
+        if (confidence.isAtLeast(TypeConfidence.INFERRED) || BufferedSearchRequestor.unwrap(requestor).getClass().getName().contains(".callhierarchy.")) {
             return SearchMatch.A_ACCURATE;
         }
         return SearchMatch.A_INACCURATE;
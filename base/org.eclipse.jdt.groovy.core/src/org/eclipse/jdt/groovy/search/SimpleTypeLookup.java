@@ -85,9 +85,12 @@ public class SimpleTypeLookup implements ITypeLookupExtension {
 
     protected GroovyCompilationUnit unit;
 
+    private VariableScope topLevelScope;
+
     @Override
     public void initialize(final GroovyCompilationUnit unit, final VariableScope topLevelScope) {
         this.unit = unit;
+        this.topLevelScope = topLevelScope;
     }
 
     @Override
@@ -293,9 +296,7 @@ public class SimpleTypeLookup implements ITypeLookupExtension {
             String methodName = ((StaticMethodCallExpression) node).getMethod();
             ClassNode theType = ((StaticMethodCallExpression) node).getOwnerType();
             if (theType.isAbstract() || theType.isInterface() || implementsTrait(theType)) {
-                Set<ClassNode> hierarchy = new LinkedHashSet<>();
-                VariableScope.createTypeHierarchy(theType, hierarchy, false);
-                for (ClassNode type : hierarchy) {
+                for (ClassNode type : scope.getTypeHierarchy(theType).getTypes()) {
                     for (MethodNode candidate : type.getDeclaredMethods(methodName)) {
                         if (candidate.isStatic()) candidates.add(candidate);
                     }
@@ -839,8 +840,8 @@ public class SimpleTypeLookup implements ITypeLookupExtension {
      * suitable for the given argument types and static/non-static context.
      */
     protected MethodNode findMethodDeclaration(final String name, final ClassNode declaringType, final List<ClassNode> argumentTypes, final boolean isStaticExpression) {
-        Set<ClassNode> interfaces = new LinkedHashSet<>();
-        VariableScope.findAllInterfaces(declaringType, interfaces, false);
+        List<ClassNode> interfaces = (topLevelScope != null ? topLevelScope.getTypeHierarchy(declaringType)
+            : new TypeHierarchyCache.TypeHierarchy(declaringType)).getInterfaces();
 
         // concrete types (without mixins/traits) return all methods from getMethods(String), except interface default and transform generated methods
         if (!declaringType.isAbstract() && !declaringType.isInterface() && !implementsTrait(declaringType)) {
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2009-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.jdt.groovy.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.codehaus.groovy.ast.ClassNode;
+
+/**
+ * Caches the type hierarchies of the types referenced by a module.  Owned by
+ * the module's {@link org.codehaus.jdt.groovy.model.ModuleNodeMapper.ModuleNodeInfo
+ * ModuleNodeInfo}, so it is discarded along with the module and its resolver.
+ * Safe for use by concurrent inferencing visits.
+ * <p>
+ * Hierarchies are built from the unresolved (redirected) types, so they are
+ * the same as {@link VariableScope#createTypeHierarchy} and
+ * {@link VariableScope#findAllInterfaces} produce with {@code useResolved}
+ * set to {@code false}.
+ */
+public final class TypeHierarchyCache {
+
+    private final Map<ClassNode, TypeHierarchy> hierarchies = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the hierarchy of the given type, building it on first request.
+     */
+    public TypeHierarchy get(final ClassNode type) {
+        ClassNode key = type.redirect();
+        TypeHierarchy hierarchy = hierarchies.get(key);
+        if (hierarchy == null) {
+            // build outside of the map's locks, since types may initialize lazily
+            hierarchy = new TypeHierarchy(key);
+            TypeHierarchy existing = hierarchies.putIfAbsent(key, hierarchy);
+            if (existing != null) hierarchy = existing;
+        }
+        // class nodes are equal by name; another node of the same name is not cached
+        if (hierarchy.type != key) {
+            hierarchy = new TypeHierarchy(key);
+        }
+        return hierarchy;
+    }
+
+    //--------------------------------------------------------------------------
+
+    /**
+     * Immutable supertypes of a type, including the type itself.
+     */
+    public static final class TypeHierarchy {
+
+        private final ClassNode type;
+        private final List<ClassNode> types;
+        private final Set<String> names;
+        private volatile List<ClassNode> interfaces;
+
+        TypeHierarchy(final ClassNode type) {
+            this.type = type.redirect();
+
+            Set<ClassNode> hierarchy = new LinkedHashSet<>();
+            VariableScope.createTypeHierarchy(this.type, hierarchy, false);
+            this.types = Collections.unmodifiableList(new ArrayList<>(hierarchy));
+
+            Set<String> names = new HashSet<>(hierarchy.size() * 2);
+            for (ClassNode node : hierarchy) {
+                names.add(node.getName());
+            }
+            this.names = names;
+        }
+
+        /**
+         * @return the type and its supertypes; classes come first, followed by interfaces
+         *
+         * @see VariableScope#createTypeHierarchy
+         */
+        public List<ClassNode> getTypes() {
+            return types;
+        }
+
+        /**
+         * @return the interfaces the type implements (or is)
+         *
+         * @see VariableScope#findAllInterfaces
+         */
+        public List<ClassNode> getInterfaces() {
+            List<ClassNode> result = interfaces;
+            if (result == null) {
+                Set<ClassNode> faces = new LinkedHashSet<>();
+                VariableScope.findAllInterfaces(type, faces, false);
+                interfaces = result = Collections.unmodifiableList(new ArrayList<>(faces));
+            }
+            return result;
+        }
+
+        /**
+         * Determines if the type or one of its supertypes has the given name.
+         */
+        public boolean contains(final String typeName) {
+            return names.contains(typeName);
+        }
+    }
+}
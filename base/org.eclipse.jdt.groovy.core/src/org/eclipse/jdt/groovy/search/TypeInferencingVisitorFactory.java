@@ -1,5 +1,5 @@
 /*
- * Copyright 2009-2023 the original author or authors.
+ * Copyright 2009-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,6 +28,9 @@ import org.eclipse.jdt.internal.core.util.Util;
 
 public class TypeInferencingVisitorFactory {
 
+    /** Category lookup holds no state between or during visits. */
+    private static final ITypeLookup CATEGORY_LOOKUP = new CategoryTypeLookup();
+
     /**
      * Create a new {@link TypeInferencingVisitorWithRequestor}
      *
@@ -52,7 +55,7 @@ public class TypeInferencingVisitorFactory {
         } catch (CoreException e) {
             Util.log(e, "Failed to retrieve ITypeLookup instances for project " + project.getName());
         }
-        lookups.add(new CategoryTypeLookup());
+        lookups.add(CATEGORY_LOOKUP);
         lookups.add(new SimpleTypeLookup()); // must be last!
 
         return new TypeInferencingVisitorWithRequestor(compilationUnit, lookups.toArray(new ITypeLookup[lookups.size()]));
@@ -127,10 +127,12 @@ import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.jdt.core.Flags;
 import org.eclipse.jdt.core.IField;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.ISourceRange;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.compiler.CharOperation;
@@ -177,6 +179,12 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
 
     private ITypeRequestor requestor;
     private final JDTResolver resolver;
+    private final ModuleNodeInfo moduleInfo;
+    private boolean visitedAll;
+    private InferenceResultStore retainedResults;
+    private boolean replayingRetained;
+    private IMember targetMember;
+    private boolean targetVisited;
     private IJavaElement enclosingElement;
     private ASTNode enclosingDeclarationNode;
     private final ModuleNode enclosingModule;
@@ -223,6 +231,7 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
         this.lookups = lookups;
 
         ModuleNodeInfo info = createModuleNode(unit);
+        this.moduleInfo = info;
         if (info == null) {
             this.resolver = null;
             this.enclosingModule = null;
@@ -244,6 +253,7 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
         this.requestor = requestor;
         this.enclosingElement = unit;
         VariableScope topLevelScope = new VariableScope(null, enclosingModule, true);
+        topLevelScope.setTypeHierarchyCache(moduleInfo.getTypeHierarchies());
         scopes.add(topLevelScope);
 
         for (ITypeLookup lookup : lookups) {
@@ -253,12 +263,18 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
             lookup.initialize(unit, topLevelScope);
         }
 
+        visitedAll = false;
         try {
-            visitPackage(enclosingModule.getPackage());
-            visitImports(enclosingModule);
+            if (targetMember == null) {
+                visitPackage(enclosingModule.getPackage());
+                visitImports(enclosingModule);
+            }
             for (IType type : unit.getTypes()) {
-                visitJDT(type, requestor);
+                if (isVisitRequired(type)) {
+                    visitJDT(type, requestor);
+                }
             }
+            visitedAll = (targetMember == null);
         } catch (CancellationException e) {
             throw e; // propagate
         } catch (VisitCompleted vc) {
@@ -277,6 +293,143 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
         }
     }
 
+    /**
+     * Visits the field or method that encloses the given source range like
+     * {@link #visitCompilationUnit(ITypeRequestor)} would, but skips members of
+     * the enclosing types that do not contribute to their variable scopes.
+     * Dynamically-typed fields, static field initializers, constructors and
+     * {@code @PostConstruct} methods that precede the member are still visited.
+     * <p>
+     * Members of local and anonymous types are visited as part of their enclosing
+     * member.  An initializer is visited through the static initializer and the
+     * constructors of its type, which hold its statements.  Locations outside of
+     * any field, method or initializer (package, imports and type headers) and
+     * scripts get the complete visit.
+     */
+    public void visitEnclosingMember(final ITypeRequestor requestor, final int offset, final int length) {
+        IMember member = null;
+        if (enclosingModule != null && enclosingModule.getClasses().stream().noneMatch(GroovyUtils::isScript)) {
+            try {
+                member = findEnclosingMember(unit.getElementAt(offset), offset, length);
+            } catch (JavaModelException e) {
+                log(e, "Error finding member at %d in %s", offset, unit.getElementName());
+            }
+        }
+        targetMember = member;
+        targetVisited = false;
+        try {
+            visitCompilationUnit(requestor);
+        } finally {
+            targetMember = null;
+        }
+    }
+
+    /**
+     * @return outermost field, method or initializer that encloses the given element
+     *     and source range and is declared by a top-level or member type, or {@code null}
+     */
+    private static IMember findEnclosingMember(final IJavaElement element, final int offset, final int length) throws JavaModelException {
+        IMember member = null;
+        for (IJavaElement e = element; e != null && e.getElementType() != IJavaElement.COMPILATION_UNIT; e = e.getParent()) {
+            switch (e.getElementType()) {
+            case IJavaElement.FIELD:
+            case IJavaElement.METHOD:
+            case IJavaElement.INITIALIZER:
+                member = (IMember) e;
+                break;
+            case IJavaElement.TYPE:
+                break;
+            default:
+                return null;
+            }
+        }
+        if (member != null) {
+            ISourceRange range = member.getSourceRange();
+            if (range == null || range.getOffset() > offset || range.getOffset() + range.getLength() < offset + length) {
+                return null;
+            }
+        }
+        return member;
+    }
+
+    /**
+     * Determines if a member must be visited.  When visiting a single member,
+     * see {@link #visitEnclosingMember}, only the member, its enclosing types
+     * and the members that contribute to the variable scopes of its enclosing
+     * types are visited.
+     */
+    private boolean isVisitRequired(final IMember member) throws JavaModelException {
+        if (targetMember == null || member.equals(targetMember)) {
+            return true;
+        }
+        for (IJavaElement e = targetMember.getParent(); e != null; e = e.getParent()) {
+            if (e.equals(member)) {
+                return true;
+            }
+        }
+        if (!targetVisited) {
+            switch (member.getElementType()) {
+            case IJavaElement.FIELD:
+                FieldNode field = findFieldNode((IField) member);
+                return (field != null && field.isDynamicTyped());
+            case IJavaElement.METHOD:
+                IMethod method = (IMethod) member;
+                return (method.isConstructor() || (!Flags.isStatic(method.getFlags()) &&
+                    Stream.of(method.getAnnotations()).anyMatch(a -> a.getElementName().endsWith("PostConstruct"))));
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Visits the compilation unit like {@link #visitCompilationUnit(ITypeRequestor)},
+     * but replays the results of an earlier complete visit of the same module
+     * node if there is one.  Otherwise the results of this visit are recorded
+     * for the next caller, provided the requestor did not cut the visit short.
+     * <p>
+     * Replayed results refer to {@link VariableScope}s as they were at the end
+     * of the visit, so requestors that depend on the scope state at the time a
+     * node is visited (enclosing node, enclosing method calls, etc.) should use
+     * {@link #visitCompilationUnit(ITypeRequestor)} instead.
+     * <p>
+     * If the module node replaced an earlier one after an edit within a method
+     * body, the results retained for the methods before the edit are replayed
+     * instead of visiting those methods again, unless the requestor does not
+     * {@linkplain ITypeRequestor#acceptsCarriedResults() accept} them.
+     */
+    public void replayCompilationUnit(final ITypeRequestor requestor) {
+        if (moduleInfo == null || enclosingModule == null) {
+            visitCompilationUnit(requestor);
+            return;
+        }
+
+        boolean acceptsCarriedResults = requestor.acceptsCarriedResults();
+        InferenceResultStore results = moduleInfo.getInferenceResults();
+        if (results != null && (acceptsCarriedResults || !results.hasCarriedResults())) {
+            results.replay(requestor);
+            return;
+        }
+
+        retainedResults = (acceptsCarriedResults ? moduleInfo.getRetainedInferenceResults() : null);
+        InferenceResultStore recorder = new InferenceResultStore(unit.getJavaProject().getElementName());
+        boolean[] visitedAllNodes = {true};
+        try {
+            visitCompilationUnit((node, result, enclosingElement) -> {
+                recorder.record(node, result, enclosingElement, replayingRetained);
+                VisitStatus status = requestor.acceptASTNode(node, result, enclosingElement);
+                if (status != VisitStatus.CONTINUE) {
+                    visitedAllNodes[0] = false;
+                }
+                return status;
+            });
+        } finally {
+            retainedResults = null;
+        }
+        if (visitedAll && visitedAllNodes[0]) {
+            moduleInfo.setInferenceResults(recorder);
+        }
+    }
+
     public void visitJDT(final IType type, final ITypeRequestor requestor) {
         ClassNode node = findClassNode(createName(type));
         if (node == null) {
@@ -325,8 +478,9 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
                 List<IMember> members = membersOf(type, isScript);
 
                 for (IMember member : members) {
-                    if (member.getElementType() == IJavaElement.FIELD) {
+                    if (member.getElementType() == IJavaElement.FIELD && isVisitRequired(member)) {
                         visitJDT((IField) member, requestor);
+                        targetVisited |= member.equals(targetMember);
                     }
                 }
 
@@ -377,9 +531,15 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
                 }
 
                 for (IMember member : members) {
+                    if (!isVisitRequired(member)) {
+                        continue;
+                    }
                     switch (member.getElementType()) {
                     case IJavaElement.METHOD:
-                        visitJDT((IMethod) member, requestor);
+                        if (!replayJDT((IMethod) member)) {
+                            visitJDT((IMethod) member, requestor);
+                        }
+                        targetVisited |= member.equals(targetMember);
                         break;
                     case IJavaElement.TYPE:
                         visitJDT((IType) member, requestor);
@@ -493,6 +653,33 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
         }
     }
 
+    /**
+     * Replays the retained results of {@code method} if they are still valid.
+     * Constructors and {@code @PostConstruct} methods are always visited, since
+     * their assignments flow into the type's scope.
+     */
+    private boolean replayJDT(final IMethod method) {
+        if (retainedResults == null) {
+            return false;
+        }
+        MethodNode methodNode = findMethodNode(method);
+        if (methodNode == null || methodNode instanceof ConstructorNode ||
+                GroovyUtils.getAnnotations(methodNode, "javax.annotation.PostConstruct").anyMatch(x -> true)) {
+            return false;
+        }
+        VisitStatus status;
+        replayingRetained = true;
+        try {
+            status = retainedResults.replay(requestor, method);
+        } finally {
+            replayingRetained = false;
+        }
+        if (status == VisitStatus.STOP_VISIT) {
+            throw new VisitCompleted(status);
+        }
+        return (status != null);
+    }
+
     //
 
     @Override
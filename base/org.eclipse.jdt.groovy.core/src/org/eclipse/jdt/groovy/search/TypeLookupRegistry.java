@@ -1,5 +1,5 @@
 /*
- * Copyright 2009-2023 the original author or authors.
+ * Copyright 2009-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,14 +15,23 @@
  */
 package org.eclipse.jdt.groovy.search;
 
+import java.lang.reflect.Constructor;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.IExecutableExtension;
 import org.eclipse.core.runtime.IExtension;
 import org.eclipse.core.runtime.IExtensionPoint;
 import org.eclipse.core.runtime.Platform;
@@ -30,12 +39,19 @@ import org.eclipse.jdt.internal.core.util.Util;
 
 /**
  * Manages type lookups.
+ * <p>
+ * The lookups that apply to a project are determined from its natures once
+ * and then cached until the project's description changes.  Lookups declared
+ * {@code stateless} are created once and shared by all visitors; others are
+ * created for each visitor, by constructor after the first one unless they
+ * need the initialization data of their extension.
  */
 public class TypeLookupRegistry {
 
     private static final String APPLIES_TO = "appliesTo";
     private static final String NATURE = "projectNature";
     private static final String LOOKUP = "lookup";
+    private static final String STATELESS = "stateless";
     private static final String TYPE_LOOKUP_EXTENSION = "org.eclipse.jdt.groovy.core.typeLookup";
 
     private static final TypeLookupRegistry DEFAULT = new TypeLookupRegistry();
@@ -45,31 +61,70 @@ public class TypeLookupRegistry {
     }
 
     // maps from project nature to lists of type lookup classes
-    private Map<String, List<IConfigurationElement>> natureLookupMap = new HashMap<>();
+    private Map<String, List<LookupFactory>> natureLookupMap = new HashMap<>();
+
+    // maps from project name to the type lookup classes of its natures
+    private final Map<String, List<LookupFactory>> projectLookupMap = new ConcurrentHashMap<>();
+
+    // incremented whenever a project's natures may have changed
+    private final AtomicInteger projectChanges = new AtomicInteger();
 
     List<ITypeLookup> getLookupsFor(IProject project) throws CoreException {
         if (!project.exists()) {
             return new ArrayList<>(3);
         }
-        String[] natures = project.getDescription().getNatureIds();
-        List<ITypeLookup> lookups = new ArrayList<>();
-        for (String nature : natures) {
-            List<IConfigurationElement> configs = natureLookupMap.get(nature);
-            if (configs != null) {
-                for (IConfigurationElement config : configs) {
-                    try {
-                        lookups.add((ITypeLookup) config.createExecutableExtension(LOOKUP));
-                    } catch (CoreException e) {
-                        Util.log(e, "Problem creating lookup for type " + config.getAttribute(LOOKUP));
-                    }
-                }
+        List<LookupFactory> factories = projectLookupMap.get(project.getName());
+        if (factories == null) {
+            int changes = projectChanges.get();
+            factories = getFactoriesFor(project.getDescription().getNatureIds());
+            projectLookupMap.put(project.getName(), factories);
+            if (projectChanges.get() != changes) {
+                // description may have changed while it was being read
+                projectLookupMap.remove(project.getName(), factories);
+            }
+        }
+        List<ITypeLookup> lookups = new ArrayList<>(factories.size() + 2);
+        for (LookupFactory factory : factories) {
+            ITypeLookup lookup = factory.create();
+            if (lookup != null) {
+                lookups.add(lookup);
             }
         }
         return lookups;
     }
 
+    private List<LookupFactory> getFactoriesFor(String[] natures) {
+        List<LookupFactory> factories = new ArrayList<>();
+        for (String nature : natures) {
+            List<LookupFactory> list = natureLookupMap.get(nature);
+            if (list != null) {
+                factories.addAll(list);
+            }
+        }
+        return Collections.unmodifiableList(factories);
+    }
+
     private TypeLookupRegistry() {
         initialize();
+        try {
+            ResourcesPlugin.getWorkspace().addResourceChangeListener(this::projectChanged, IResourceChangeEvent.POST_CHANGE);
+        } catch (IllegalStateException e) {
+            // workspace is closed; nothing to cache
+        }
+    }
+
+    private void projectChanged(IResourceChangeEvent event) {
+        IResourceDelta delta = event.getDelta();
+        if (delta != null) {
+            for (IResourceDelta child : delta.getAffectedChildren(IResourceDelta.ADDED | IResourceDelta.REMOVED | IResourceDelta.CHANGED)) {
+                if (child.getResource().getType() == IResource.PROJECT && (child.getKind() != IResourceDelta.CHANGED ||
+                        (child.getFlags() & (IResourceDelta.DESCRIPTION | IResourceDelta.OPEN)) != 0)) {
+                    projectChanges.incrementAndGet();
+                    projectLookupMap.remove(child.getResource().getName());
+                    InferenceResultStore.invalidateAll();
+                }
+            }
+        }
     }
 
     private void initialize() {
@@ -87,17 +142,18 @@ public class TypeLookupRegistry {
         try {
             if (config.getName().equals(LOOKUP)) {
                 if (config.getAttribute(LOOKUP) != null) {
+                    LookupFactory factory = new LookupFactory(config);
                     IConfigurationElement[] appliesTos = config.getChildren(APPLIES_TO);
                     for (IConfigurationElement appliesTo : appliesTos) {
                         String nature = appliesTo.getAttribute(NATURE);
-                        List<IConfigurationElement> elts;
+                        List<LookupFactory> elts;
                         if (natureLookupMap.containsKey(nature)) {
                             elts = natureLookupMap.get(nature);
                         } else {
                             elts = new ArrayList<>(3);
                             natureLookupMap.put(nature, elts);
                         }
-                        elts.add(config);
+                        elts.add(factory);
                     }
                 } else {
                     Util.log(new RuntimeException(), "Type lookup registry extension found with no type lookup class.");
@@ -107,4 +163,45 @@ public class TypeLookupRegistry {
             Util.log(e, "Problem registering type lookups");
         }
     }
+
+    //--------------------------------------------------------------------------
+
+    private static class LookupFactory {
+
+        private final IConfigurationElement config;
+        private final boolean stateless;
+        /** Shared lookup if stateless, or constructor of lookup if it can be created without its extension. */
+        private volatile Object template;
+
+        LookupFactory(IConfigurationElement config) {
+            this.config = config;
+            this.stateless = Boolean.parseBoolean(config.getAttribute(STATELESS));
+        }
+
+        ITypeLookup create() {
+            Object t = template;
+            try {
+                if (t instanceof ITypeLookup) {
+                    return (ITypeLookup) t;
+                }
+                if (t instanceof Constructor) {
+                    return (ITypeLookup) ((Constructor<?>) t).newInstance();
+                }
+                ITypeLookup lookup = (ITypeLookup) config.createExecutableExtension(LOOKUP);
+                if (stateless) {
+                    template = lookup;
+                } else if (!(lookup instanceof IExecutableExtension)) {
+                    try {
+                        template = lookup.getClass().getConstructor();
+                    } catch (NoSuchMethodException ignore) {
+                        // keep creating through the extension registry
+                    }
+                }
+                return lookup;
+            } catch (CoreException | ReflectiveOperationException e) {
+                Util.log(e, "Problem creating lookup for type " + config.getAttribute(LOOKUP));
+                return null;
+            }
+        }
+    }
 }
@@ -81,6 +81,7 @@ import org.codehaus.groovy.runtime.DefaultGroovyMethods;
 import org.codehaus.groovy.runtime.DefaultGroovyStaticMethods;
 import org.codehaus.groovy.syntax.Token;
 import org.codehaus.groovy.transform.trait.Traits;
+import org.codehaus.jdt.groovy.internal.compiler.ExtensionMethodIndex;
 import org.codehaus.jdt.groovy.internal.compiler.GroovyClassLoaderFactory.GrapeAwareGroovyClassLoader;
 import org.codehaus.jdt.groovy.internal.compiler.ast.JDTMethodNode;
 import org.eclipse.core.runtime.Assert;
@@ -277,20 +278,38 @@ public class VariableScope implements Iterable<VariableScope.VariableInfo> {
                 }
             }
         } else {
-            categories = scopeNode.getNodeMetaData(DefaultGroovyMethods.class);
-            if (categories == null) {
-                GrapeAwareGroovyClassLoader gcl = (GrapeAwareGroovyClassLoader) ((ModuleNode) scopeNode).getUnit().getClassLoader();
-                categories = gcl.getDefaultCategories().stream().map(ClassNode::new).collect(Collectors.toCollection(LinkedHashSet::new));
-                synchronized (scopeNode) {
-                    Set<ClassNode> value = categories;
-                    scopeNode.getNodeMetaData(DefaultGroovyMethods.class, key -> value);
-                }
-            }
+            categories = getExtensionMethodIndex().getCategories();
         }
 
         return categories;
     }
 
+    /**
+     * @return category methods named {@code name} that are active in this scope
+     */
+    public List<MethodNode> getCategoryMethods(String name) {
+        Set<ClassNode> categories = getCategoryNames();
+        ExtensionMethodIndex index = getExtensionMethodIndex();
+        if (categories.size() == index.getCategories().size()) {
+            return index.getMethods(name); // no "use" blocks
+        }
+        List<MethodNode> methods = new ArrayList<>(index.getMethods(name));
+        for (ClassNode category : categories) {
+            if (!index.isCategory(category)) {
+                methods.addAll(category.getDeclaredMethods(name));
+            }
+        }
+        return methods;
+    }
+
+    /**
+     * @return shared index of the default categories' methods
+     */
+    public ExtensionMethodIndex getExtensionMethodIndex() {
+        GrapeAwareGroovyClassLoader loader = (GrapeAwareGroovyClassLoader) getEnclosingModuleNode().getUnit().getClassLoader();
+        return loader.getExtensionMethodIndex();
+    }
+
     private boolean isCategoryBeingDeclared() {
         return (categoryBeingDeclared != null);
     }
@@ -300,10 +319,7 @@ public class VariableScope implements Iterable<VariableScope.VariableInfo> {
     }
 
     public boolean isDefaultCategory(ClassNode category) {
-        ModuleNode module = getEnclosingModuleNode();
-        Set<ClassNode> defaultCategories = module.getNodeMetaData(DefaultGroovyMethods.class);
-
-        return defaultCategories.contains(category);
+        return getExtensionMethodIndex().isCategory(category);
     }
 
     public boolean isDefaultStaticCategory(ClassNode category) {
@@ -1051,6 +1067,23 @@ public class VariableScope implements Iterable<VariableScope.VariableInfo> {
         }
     }
 
+    void setTypeHierarchyCache(final TypeHierarchyCache typeHierarchies) {
+        shared.typeHierarchies = typeHierarchies;
+    }
+
+    /**
+     * Returns the type hierarchy of {@code type} as {@link #createTypeHierarchy}
+     * creates it when not using resolved types, cached for the module that is
+     * being visited.
+     */
+    public TypeHierarchyCache.TypeHierarchy getTypeHierarchy(final ClassNode type) {
+        TypeHierarchyCache typeHierarchies = shared.typeHierarchies;
+        if (typeHierarchies == null) {
+            return new TypeHierarchyCache.TypeHierarchy(type);
+        }
+        return typeHierarchies.get(type);
+    }
+
     /**
      * Creates a type hierarchy for {@code type}, including itself. Classes come
      * first, followed by interfaces.
@@ -1208,6 +1241,10 @@ public class VariableScope implements Iterable<VariableScope.VariableInfo> {
          * true iff current scope is implicit run method of script
          */
         private boolean isRunMethod;
+        /**
+         * type hierarchies of the module being visited, or null if none
+         */
+        private TypeHierarchyCache typeHierarchies;
     }
 
     public static class VariableInfo {
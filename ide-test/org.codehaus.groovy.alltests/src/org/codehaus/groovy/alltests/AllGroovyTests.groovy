@@ -72,6 +72,7 @@ import org.junit.runners.Suite
     org.codehaus.groovy.eclipse.codebrowsing.tests.FindSurroundingNodeTests,
     org.codehaus.groovy.eclipse.codebrowsing.tests.IsSameExpressionTests,
     org.codehaus.groovy.eclipse.codebrowsing.tests.PartialVisitTests,
+    org.codehaus.groovy.eclipse.codebrowsing.tests.SourceRangeIndexTests,
 
     // org.codehaus.groovy.eclipse.core.tests
     org.codehaus.groovy.eclipse.core.test.AstPositionTests,
@@ -83,6 +84,7 @@ import org.junit.runners.Suite
     // org.codehaus.groovy.eclipse.dsl.tests
     org.codehaus.groovy.eclipse.dsl.tests.BuiltInDSLInferencingTests,
     org.codehaus.groovy.eclipse.dsl.tests.DSLContentAssistTests,
+    org.codehaus.groovy.eclipse.dsl.tests.DSLDScriptCacheTests,
     org.codehaus.groovy.eclipse.dsl.tests.DSLInferencingTests,
     org.codehaus.groovy.eclipse.dsl.tests.DSLNamedArgContentAssistTests,
     org.codehaus.groovy.eclipse.dsl.tests.DSLStoreTests,
@@ -145,6 +147,7 @@ import org.junit.runners.Suite
     org.codehaus.groovy.eclipse.test.debug.BreakpointLocationTests,
     org.codehaus.groovy.eclipse.test.debug.DebugBreakpointsTests,
     org.codehaus.groovy.eclipse.test.launch.GroovyScriptLaunchShortcutTests,
+    org.codehaus.groovy.eclipse.test.search.CallHierarchyTests,
     org.codehaus.groovy.eclipse.test.search.FindOccurrencesTests,
     org.codehaus.groovy.eclipse.test.ui.BracketInserterTests,
     org.codehaus.groovy.eclipse.test.ui.GroovyAutoIndenterTests,
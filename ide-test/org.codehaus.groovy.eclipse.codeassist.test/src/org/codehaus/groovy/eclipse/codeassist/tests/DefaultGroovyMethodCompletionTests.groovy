@@ -250,6 +250,13 @@ final class DefaultGroovyMethodCompletionTests extends CompletionTestSuite {
         proposalExists(proposals, 'getIn', 1)
     }
 
+    @Test
+    void testGStringGM() {
+        String contents = 'def dir = "."\n"ls $dir".'
+        ICompletionProposal[] proposals = createProposalsAtOffset(contents, contents.length())
+        proposalExists(proposals, 'execute()', 1) // ProcessGroovyMethods.execute(String)
+    }
+
     @Test // GRECLIPSE-1158
     void testEncodingGM() {
         String contents = 'byte[] p\n' + 'p.encodeBase64'
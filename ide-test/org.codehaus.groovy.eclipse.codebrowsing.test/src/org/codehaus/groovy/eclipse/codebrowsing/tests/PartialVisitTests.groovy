@@ -1,5 +1,5 @@
 /*
- * Copyright 2009-2021 the original author or authors.
+ * Copyright 2009-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -110,6 +110,84 @@ final class PartialVisitTests extends BrowsingTestSuite {
         assertCodeSelectWithSkippedNames(contents, lastIndexOf(contents, 'y'), 'y', 'm()', 'Inner')
     }
 
+    @Test // should not visit the other methods or the inner class
+    void testEnclosingMember1() {
+        String contents = '''\
+            |class C {
+            |  def a() { 'a'.size() }
+            |  def m() {
+            |    'm'.size()
+            |  }
+            |  class Inner {
+            |    def b() { 'b'.size() }
+            |  }
+            |  def c() { 'c'.size() }
+            |}
+            |'''.stripMargin()
+        assertCodeSelectWithUnvisitedNames(contents, new Region(contents.indexOf('size()\n'), 'size'.length()), 'size', 'a()', 'Inner', 'b()', 'c()')
+    }
+
+    @Test // should visit the constructor for the field assignment
+    void testEnclosingMember2() {
+        String contents = '''\
+            |class C {
+            |  def x
+            |  C() {
+            |    x = 'value'
+            |  }
+            |  def a() {}
+            |  def m() {
+            |    x.trim()
+            |  }
+            |}
+            |'''.stripMargin()
+        assertCodeSelectWithUnvisitedNames(contents, lastIndexOf(contents, 'trim'), 'trim', 'a()')
+        assert 'C()' in helper.visitedElements
+    }
+
+    @Test // should visit the enclosing member of an anonymous inner class
+    void testEnclosingMember3() {
+        String contents = '''\
+            |class C {
+            |  def a() {}
+            |  def m() {
+            |    new Object() {
+            |      String toString() { 'x'.trim() }
+            |    }
+            |  }
+            |}
+            |'''.stripMargin()
+        assertCodeSelectWithUnvisitedNames(contents, lastIndexOf(contents, 'trim'), 'trim', 'a()')
+    }
+
+    @Test // should visit the initializer through the constructors, not the other methods
+    void testEnclosingMember4() {
+        String contents = '''\
+            |class C {
+            |  def a() { 'a'.size() }
+            |  {
+            |    'x'.trim()
+            |  }
+            |  def b() { 'b'.size() }
+            |}
+            |'''.stripMargin()
+        assertCodeSelectWithUnvisitedNames(contents, lastIndexOf(contents, 'trim'), 'trim', 'a()', 'b()')
+    }
+
+    @Test // should visit the static initializer, not the other methods
+    void testEnclosingMember5() {
+        String contents = '''\
+            |class C {
+            |  def a() { 'a'.size() }
+            |  static {
+            |    'x'.trim()
+            |  }
+            |  def b() { 'b'.size() }
+            |}
+            |'''.stripMargin()
+        assertCodeSelectWithUnvisitedNames(contents, lastIndexOf(contents, 'trim'), 'trim', 'a()', 'b()')
+    }
+
     //--------------------------------------------------------------------------
 
     private static String getElementName(IJavaElement element) {
@@ -140,14 +218,27 @@ final class PartialVisitTests extends BrowsingTestSuite {
         assert getElementName(selected[0]) == expectedElementName
 
         for (shouldSkip in expectedSkippedElements) {
-            assert shouldSkip in helper.skippedElements
+            assert !(shouldSkip in helper.visitedElements) || shouldSkip in helper.skippedElements
+        }
+    }
+
+    private void assertCodeSelectWithUnvisitedNames(String contents, Region region, String expectedElementName, String... expectedUnvisitedElements) {
+        def unit = addGroovySource(contents)
+
+        def selected = helper.select(unit, region.offset, region.length)
+
+        assert selected.length == 1
+        assert getElementName(selected[0]) == expectedElementName
+
+        for (unvisited in expectedUnvisitedElements) {
+            assert !(unvisited in helper.visitedElements)
         }
-        assert helper.skippedElements.size() == expectedSkippedElements.length
     }
 
     @CompileStatic
     private static class PartialCodeSelectRequestor extends CodeSelectRequestor {
         private final Set<String> skippedElements = []
+        private final Set<String> visitedElements = []
 
         PartialCodeSelectRequestor(ASTNode node, GroovyCompilationUnit unit) {
             super(node, unit)
@@ -160,6 +251,7 @@ final class PartialVisitTests extends BrowsingTestSuite {
                 assert skippedElements.add(getElementName(enclosingElement)) :
                     "Element '$enclosingElement.elementName' has been skipped more than once"
             }
+            visitedElements.add(getElementName(enclosingElement))
             return status
         }
     }
@@ -167,23 +259,27 @@ final class PartialVisitTests extends BrowsingTestSuite {
     @CompileStatic
     private static class PartialCodeSelectHelper extends CodeSelectHelper {
         private Set<String> skippedElements = []
+        private Set<String> visitedElements = []
 
         @Override
         protected CodeSelectRequestor createRequestor(ASTNode node, Region r1, Region r2, GroovyCompilationUnit unit) {
             PartialCodeSelectRequestor partialCodeSelectRequestor = new PartialCodeSelectRequestor(node, unit)
             skippedElements = partialCodeSelectRequestor.skippedElements
+            visitedElements = partialCodeSelectRequestor.visitedElements
             return partialCodeSelectRequestor
         }
 
         @Override
         public IJavaElement[] select(GroovyCompilationUnit unit, int start, int length) {
             skippedElements.clear()
+            visitedElements.clear()
             return super.select(unit, start, length)
         }
 
         @Override
         ASTNode selectASTNode(GroovyCompilationUnit unit, int start, int length) {
             skippedElements.clear()
+            visitedElements.clear()
             return super.selectASTNode(unit, start, length)
         }
     }
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2009-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.codebrowsing.tests
+
+import org.codehaus.groovy.ast.ASTNode
+import org.codehaus.groovy.ast.ClassNode
+import org.codehaus.groovy.ast.FieldNode
+import org.codehaus.groovy.ast.MethodNode
+import org.codehaus.groovy.ast.ModuleNode
+import org.codehaus.groovy.eclipse.codebrowsing.requestor.ASTNodeFinder
+import org.codehaus.groovy.eclipse.codebrowsing.requestor.Region
+import org.eclipse.jdt.groovy.core.util.SourceRangeIndex
+import org.junit.Test
+
+final class SourceRangeIndexTests extends BrowsingTestSuite {
+
+    private static final String CONTENTS = '''\
+        |class C {
+        |  def f = 1
+        |  def m(int p) {
+        |    def x = p
+        |    x
+        |  }
+        |  def n() {
+        |    new Object() {
+        |      def y
+        |    }
+        |  }
+        |}
+        |'''.stripMargin()
+
+    private ModuleNode module
+
+    private ModuleNode getModule() {
+        if (module == null) {
+            module = addGroovySource(CONTENTS, nextUnitName()).moduleNode
+        }
+        return module
+    }
+
+    private SourceRangeIndex getIndex() {
+        SourceRangeIndex.of(getModule())
+    }
+
+    @Test
+    void testSameIndexForModule() {
+        assert index.is(SourceRangeIndex.of(getModule()))
+    }
+
+    @Test
+    void testMayEnclose() {
+        ClassNode c = getModule().classes.find { it.name == 'C' }
+        MethodNode m = c.getMethods('m')[0], n = c.getMethods('n')[0]
+        FieldNode f = c.getField('f')
+
+        int offset = CONTENTS.indexOf('def x')
+        assert index.mayEnclose(c, offset, 5)
+        assert index.mayEnclose(m, offset, 5)
+        assert !index.mayEnclose(n, offset, 5)
+        assert !index.mayEnclose(f, offset, 5)
+    }
+
+    @Test
+    void testMayEncloseAnonymousInnerClass() {
+        ClassNode c = getModule().classes.find { it.name == 'C' }
+        MethodNode n = c.getMethods('n')[0]
+
+        int offset = CONTENTS.indexOf('def y')
+        assert index.mayEnclose(n, offset, 5)
+        assert !index.mayEnclose(c.getMethods('m')[0], offset, 5)
+    }
+
+    @Test
+    void testFinderSkipsOtherMembers() {
+        int offset = CONTENTS.indexOf('y\n')
+        ASTNode node = new ASTNodeFinder(new Region(offset, 1)).doVisit(getModule())
+        assert node instanceof FieldNode
+        assert node.name == 'y'
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2009-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.dsl.tests
+
+import static org.junit.Assert.fail
+
+import org.codehaus.groovy.control.CompilationFailedException
+import org.codehaus.groovy.eclipse.dsl.script.DSLDScriptCache
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+
+final class DSLDScriptCacheTests {
+
+    private final DSLDScriptCache cache = DSLDScriptCache.instance
+
+    private final List<GroovyClassLoader> loaders = []
+
+    @Before
+    void setUp() {
+        cache.clear()
+    }
+
+    @After
+    void tearDown() {
+        loaders*.close()
+        cache.clear()
+    }
+
+    private GroovyClassLoader newLoader(ClassLoader parent = getClass().classLoader) {
+        GroovyClassLoader loader = new GroovyClassLoader(parent)
+        loaders << loader
+        return loader
+    }
+
+    private int variantCount() {
+        Map entries = cache.@entries
+        entries.values().sum { it.@variants.size() } ?: 0
+    }
+
+    //--------------------------------------------------------------------------
+
+    @Test
+    void testSameScriptIsCompiledOnce() {
+        String text = 'def closure = { -> 42 }\nclosure()'
+        Class<?> one = cache.loadScriptClass('one.dsld', text, newLoader())
+        Class<?> two = cache.loadScriptClass('one.dsld', text, newLoader())
+
+        assert one.name == 'one' && two.name == 'one'
+        assert !one.is(two) && one.classLoader != two.classLoader
+        assert Script.isAssignableFrom(one)
+        assert two.newInstance().run() == 42
+        assert variantCount() == 1
+    }
+
+    @Test
+    void testChangedScriptIsRecompiled() {
+        Class<?> one = cache.loadScriptClass('one.dsld', '1', newLoader())
+        Class<?> two = cache.loadScriptClass('one.dsld', '2', newLoader())
+
+        assert one.newInstance().run() == 1
+        assert two.newInstance().run() == 2
+        assert variantCount() == 2
+    }
+
+    @Test
+    void testIncompatibleLoaderIsRecompiled() {
+        GroovyClassLoader other = newLoader()
+        other.parseClass('package p; class Thing { static value() { 2 } }')
+
+        String text = 'import p.*\ntry { Thing.value() } catch (MissingPropertyException e) { 1 }'
+        Class<?> one = cache.loadScriptClass('one.dsld', text, newLoader())
+        Class<?> two = cache.loadScriptClass('one.dsld', text, newLoader(other))
+
+        assert one.newInstance().run() == 1
+        assert two.newInstance().run() == 2
+        assert variantCount() == 2
+    }
+
+    @Test
+    void testEntriesAreBounded() {
+        int max = DSLDScriptCache.MAX_ENTRIES
+        (0..max).each { i ->
+            assert cache.loadScriptClass('one.dsld', "$i", newLoader()).newInstance().run() == i
+        }
+        assert cache.@entries.size() == max
+
+        // the evicted script is still loaded correctly
+        assert cache.loadScriptClass('one.dsld', '0', newLoader()).newInstance().run() == 0
+        assert cache.@entries.size() == max
+    }
+
+    @Test
+    void testCompileError() {
+        try {
+            cache.loadScriptClass('bad.dsld', 'def x = ', newLoader())
+            fail('Should have failed to compile')
+        } catch (CompilationFailedException expected) {
+        }
+        assert variantCount() == 0
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2009-2023 the original author or authors.
+ * Copyright 2009-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -1853,4 +1853,172 @@ final class DSLInferencingTests extends DSLInferencingTestSuite {
 
         assert inferType(contents, 'bar').typeName == 'java.lang.Integer'
     }
+
+    //--------------------------------------------------------------------------
+    // the store indexes pointcuts by the type, identifier or call name they require
+
+    @Test
+    void testKeyedPointcut1() {
+        createDsls '''\
+            |contribute(currentType('Foo') & enclosingMethod('bar')) {
+            |  property name: 'hi', type: int
+            |}
+            |'''.stripMargin()
+
+        String contents = '''\
+            |class Foo {
+            |  def bar() { hi }
+            |}
+            |'''.stripMargin()
+
+        assert inferType(contents, 'hi').typeName == 'java.lang.Integer'
+
+        contents = '''\
+            |class Foo {
+            |  def baz() { hi }
+            |}
+            |'''.stripMargin()
+
+        assert inferType(contents, 'hi').result.confidence.name() == 'UNKNOWN'
+    }
+
+    @Test
+    void testKeyedPointcut2() {
+        createDsls '''\
+            |contribute(currentType(String) | currentType(Integer)) {
+            |  property name: 'hi', type: int
+            |}
+            |'''.stripMargin()
+
+        assert inferType('"".hi', 'hi').typeName == 'java.lang.Integer'
+        assert inferType('1.hi', 'hi').typeName == 'java.lang.Integer'
+        assert inferType('1L.hi', 'hi').result.confidence.name() == 'UNKNOWN'
+    }
+
+    @Test
+    void testKeyedPointcut3() {
+        createDsls '''\
+            |contribute(currentIdentifier('hi') & currentType('Foo')) {
+            |  property name: 'hi', type: int
+            |}
+            |'''.stripMargin()
+
+        String contents = '''\
+            |class Foo {}
+            |new Foo().hi
+            |'''.stripMargin()
+
+        assert inferType(contents, 'hi').typeName == 'java.lang.Integer'
+    }
+
+    @Test
+    void testKeyedPointcut4() {
+        createDsls '''\
+            |contribute(currentType('Foo') & (currentIdentifier('hi') | currentIdentifier('ho'))) {
+            |  property name: 'hi', type: Integer
+            |  property name: 'ho', type: Long
+            |}
+            |'''.stripMargin()
+
+        String contents = '''\
+            |class Foo {}
+            |new Foo().hi
+            |new Foo().ho
+            |'''.stripMargin()
+
+        assert inferType(contents, 'hi').typeName == 'java.lang.Integer'
+        assert inferType(contents, 'ho').typeName == 'java.lang.Long'
+    }
+
+    @Test
+    void testKeyedPointcut5() {
+        createDsls '''\
+            |contribute(enclosingCallName('foo') & inClosure()) {
+            |  property name: 'hi', type: Integer
+            |}
+            |'''.stripMargin()
+
+        String contents = '''\
+            |def foo(Closure c) {}
+            |foo { hi }
+            |'''.stripMargin()
+
+        assert inferType(contents, 'hi').typeName == 'java.lang.Integer'
+    }
+
+    @Test
+    void testKeyedPointcut6() {
+        createDsls '''\
+            |contribute(enclosingCall('foo') | enclosingCallName('bar')) {
+            |  property name: 'hi', type: Integer
+            |}
+            |'''.stripMargin()
+
+        String contents = '''\
+            |def foo(Closure c) {}
+            |def bar(Closure c) {}
+            |foo { hi }
+            |'''.stripMargin()
+
+        assert inferType(contents, 'hi').typeName == 'java.lang.Integer'
+
+        contents = '''\
+            |def foo(Closure c) {}
+            |def bar(Closure c) {}
+            |bar { hi }
+            |'''.stripMargin()
+
+        assert inferType(contents, 'hi').typeName == 'java.lang.Integer'
+    }
+
+    @Test // pointcut arguments are not indexed
+    void testKeyedPointcut7() {
+        createDsls '''\
+            |contribute(enclosingCall(name('foo')) | enclosingCall(name('bar'))) {
+            |  property name: 'hi', type: Integer
+            |}
+            |'''.stripMargin()
+
+        String contents = '''\
+            |def bar(Closure c) {}
+            |bar { hi }
+            |'''.stripMargin()
+
+        assert inferType(contents, 'hi').typeName == 'java.lang.Integer'
+    }
+
+    @Test // pointcut arguments are not indexed
+    void testKeyedPointcut8() {
+        createDsls '''\
+            |contribute(currentType(subType('Foo')) | currentType('Bar')) {
+            |  property name: 'hi', type: Integer
+            |}
+            |'''.stripMargin()
+
+        String contents = '''\
+            |class Foo {}
+            |class Baz extends Foo {}
+            |new Baz().hi
+            |'''.stripMargin()
+
+        assert inferType(contents, 'hi').typeName == 'java.lang.Integer'
+    }
+
+    @Test // mixed kinds of alternatives are not indexed
+    void testKeyedPointcut9() {
+        createDsls '''\
+            |contribute(currentType('Foo') | currentIdentifier('hi')) {
+            |  property name: 'hi', type: Integer
+            |  property name: 'ho', type: Long
+            |}
+            |'''.stripMargin()
+
+        String contents = '''\
+            |class Foo {}
+            |new Foo().ho
+            |'''.stripMargin()
+
+        assert inferType(contents, 'ho').typeName == 'java.lang.Long'
+        assert inferType('"".hi', 'hi').typeName == 'java.lang.Integer'
+    }
 }
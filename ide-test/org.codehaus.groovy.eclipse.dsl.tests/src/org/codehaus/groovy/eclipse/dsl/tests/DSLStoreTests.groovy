@@ -1,5 +1,5 @@
 /*
- * Copyright 2009-2020 the original author or authors.
+ * Copyright 2009-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -433,4 +433,57 @@ final class DSLStoreTests extends DSLInferencingTestSuite {
 
         runTest(0, [:], [:])
     }
+
+    @Test
+    void testRefreshPublishesStoreAtomically() {
+        createDsls('currentType().accept { }')
+        DSLDStoreManager manager = GroovyDSLCoreActivator.default.contextStoreManager
+        manager.initialize(project, true)
+
+        DSLDStore current = manager.getDSLDStore(project), pending = null, other = null
+        boolean published = manager.refreshDSLDStore(project) { ->
+            pending = manager.getDSLDStore(project)
+            Thread.start { other = manager.getDSLDStore(project) }.join()
+            return true
+        }
+
+        assert published
+        assert !pending.is(current)
+        assert other.is(current) : 'other threads should see the current store during refresh'
+        assert manager.getDSLDStore(project).is(pending)
+    }
+
+    @Test
+    void testRefreshCancelled() {
+        createDsls('currentType().accept { }')
+        DSLDStoreManager manager = GroovyDSLCoreActivator.default.contextStoreManager
+        manager.initialize(project, true)
+
+        DSLDStore current = manager.getDSLDStore(project)
+        boolean published = manager.refreshDSLDStore(project) { ->
+            assert !manager.getDSLDStore(project).is(current)
+            return false
+        }
+
+        assert !published
+        assert manager.getDSLDStore(project).is(current)
+        assert current.allContextKeys*.name == ['dsl0.dsld']
+    }
+
+    @Test
+    void testChangeDuringRefresh() {
+        createDsls('currentType().accept { }')
+        DSLDStoreManager manager = GroovyDSLCoreActivator.default.contextStoreManager
+        manager.initialize(project, true)
+
+        boolean published = manager.refreshDSLDStore(project) { ->
+            // change is applied to the current store by another thread
+            Thread.start { createDsls('fields().accept { }') }.join()
+            return true
+        }
+
+        assert published
+        // the refresh skipped dsl0; dsl1 must not be lost to the previous store
+        assert manager.getDSLDStore(project).allContextKeys*.name == ['dsl1.dsld']
+    }
 }
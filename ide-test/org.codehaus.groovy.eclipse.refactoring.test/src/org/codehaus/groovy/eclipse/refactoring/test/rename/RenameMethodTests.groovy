@@ -1,5 +1,5 @@
 /*
- * Copyright 2009-2023 the original author or authors.
+ * Copyright 2009-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -156,6 +156,37 @@ final class RenameMethodTests extends RefactoringTestSuite {
         assert status.isOK()
     }
 
+    @Test
+    void testConcurrentSearch() {
+        def unit = createCU(packageP, 'C.groovy', '''\
+            |package p
+            |
+            |class C {
+            |  void m(A a) {
+            |    a.getFoo() + a.foo
+            |  }
+            |}
+            |'''.stripMargin())
+
+        // the rename requestor is seen through the buffer of a concurrent search, so pseudo-properties are still skipped
+        System.setProperty('greclipse.search.threads', '2')
+        try {
+            def status = runTest('A', 'getFoo', 'getFooBar')
+            assert status.isOK() : 'rename failed'
+        } finally {
+            System.clearProperty('greclipse.search.threads')
+        }
+        assertEqualLines('''\
+            |package p
+            |
+            |class C {
+            |  void m(A a) {
+            |    a.getFooBar() + a.foo
+            |  }
+            |}
+            |'''.stripMargin(), unit.source)
+    }
+
     @Test
     void testStaticImport() {
         createCU(root.createPackageFragment('o', true, null), 'Other.java', '''\
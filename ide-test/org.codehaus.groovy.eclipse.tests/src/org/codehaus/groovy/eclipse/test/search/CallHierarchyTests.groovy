@@ -0,0 +1,94 @@
+/*
+ * Copyright 2009-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.test.search
+
+import org.codehaus.groovy.eclipse.test.GroovyEclipseTestSuite
+import org.eclipse.core.runtime.NullProgressMonitor
+import org.eclipse.jdt.core.IMember
+import org.eclipse.jdt.core.IMethod
+import org.eclipse.jdt.internal.corext.callhierarchy.CallHierarchy
+import org.junit.Test
+
+/**
+ * Tests for the callers of a method that are found in groovy sources.
+ */
+final class CallHierarchyTests extends GroovyEclipseTestSuite {
+
+    private IMethod addSources() {
+        def unit = addGroovySource('''\
+            |package foo
+            |
+            |class Bar {
+            |  def xxx(a, b='') {}
+            |  def xxx(a, b, c) {}
+            |}
+            |'''.stripMargin(), 'Bar', 'foo')
+        addGroovySource('''\
+            |package foo
+            |
+            |class Baz {
+            |  void m1(Bar bar) {
+            |    bar.xxx(1)
+            |  }
+            |  void m2(Bar bar) {
+            |    bar.xxx(1, 2)
+            |  }
+            |  void m4(Bar bar) {
+            |    def x = bar.&xxx
+            |  }
+            |}
+            |'''.stripMargin(), 'Baz', 'foo')
+        addGroovySource('''\
+            |package foo
+            |
+            |class Qux {
+            |  void m5(Bar bar) {
+            |    bar.xxx(1, 2)
+            |  }
+            |}
+            |'''.stripMargin(), 'Qux', 'foo')
+
+        unit.getType('Bar').methods[0]
+    }
+
+    private static List<String> findCallers(IMethod method) {
+        def root = CallHierarchy.default.getCallerRoots([method] as IMember[])[0]
+        root.getCalls(new NullProgressMonitor())*.member*.elementName.sort()
+    }
+
+    //--------------------------------------------------------------------------
+
+    @Test
+    void testCallers1() {
+        IMethod method = addSources()
+
+        // inaccurate method pointer match is accepted on behalf of the call hierarchy
+        assert findCallers(method) == ['m2', 'm4', 'm5']
+    }
+
+    @Test
+    void testCallers2() {
+        IMethod method = addSources()
+
+        // the call hierarchy requestor is seen through the buffer of a concurrent search
+        System.setProperty('greclipse.search.threads', '2')
+        try {
+            assert findCallers(method) == ['m2', 'm4', 'm5']
+        } finally {
+            System.clearProperty('greclipse.search.threads')
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2009-2023 the original author or authors.
+ * Copyright 2009-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,9 @@ import groovy.test.NotYetImplemented
 import org.codehaus.groovy.eclipse.search.GroovyOccurrencesFinder
 import org.codehaus.groovy.eclipse.test.GroovyEclipseTestSuite
 import org.codehaus.jdt.groovy.model.GroovyCompilationUnit
+import org.eclipse.jdt.groovy.core.util.JavaConstants
+import org.eclipse.jdt.groovy.search.ITypeRequestor
+import org.eclipse.jdt.groovy.search.TypeInferencingVisitorFactory
 import org.junit.Assert
 import org.junit.Test
 
@@ -114,6 +117,48 @@ final class FindOccurrencesTests extends GroovyEclipseTestSuite {
         doTest(contents, contents.indexOf('x'), 1, contents.indexOf('x'), 1)
     }
 
+    @Test // occurrences in a method whose results were carried over from the previous module node
+    void testFindLocalOccurrences5() {
+        //@formatter:off
+        String contents = '''\
+            class C {
+              def a() {
+                def x = 1
+                x
+              }
+              def c() {
+                0
+              }
+            }
+            '''.stripIndent()
+        //@formatter:on
+        GroovyCompilationUnit unit = addGroovySource(contents)
+        unit.becomeWorkingCopy(null)
+        try {
+            def replay = { ->
+                new TypeInferencingVisitorFactory().createVisitor(unit).replayCompilationUnit(ITypeRequestor.acceptingCarriedResults { node, result, element ->
+                    ITypeRequestor.VisitStatus.CONTINUE
+                })
+            }
+            replay()
+
+            // edit the body of c()
+            unit.buffer.replace(contents.lastIndexOf('0'), 1, '2')
+            unit.reconcile(JavaConstants.AST_LEVEL, true, null, null)
+            replay()
+            assert unit.getModuleInfo(true).inferenceResults.hasCarriedResults()
+
+            def actual = new GroovyOccurrencesFinder().with {
+                groovyCompilationUnit = unit
+                initialize(null, contents.lastIndexOf('x'), 1)
+                return occurrences
+            }
+            assert actual*.offset == [contents.indexOf('x'), contents.lastIndexOf('x')]
+        } finally {
+            unit.discardWorkingCopy()
+        }
+    }
+
     @Test
     void testFindForLoopOccurrences() {
         //@formatter:off
@@ -38,6 +38,7 @@ import org.codehaus.groovy.eclipse.codeassist.proposals.GroovyFieldProposal;
 import org.codehaus.groovy.eclipse.codeassist.proposals.GroovyMethodProposal;
 import org.codehaus.groovy.eclipse.codeassist.proposals.IGroovyProposal;
 import org.codehaus.groovy.eclipse.codeassist.requestor.ContentAssistContext;
+import org.codehaus.jdt.groovy.internal.compiler.ExtensionMethodIndex;
 import org.eclipse.jdt.core.CompletionProposal;
 import org.eclipse.jdt.core.Flags;
 import org.eclipse.jdt.core.IMember;
@@ -67,36 +68,46 @@ public class CategoryProposalCreator extends AbstractProposalCreator {
             return Collections.emptyList();
         }
 
+        // default category methods come pre-filtered by self type from the shared index
+        ExtensionMethodIndex index = (currentScope != null ? currentScope.getExtensionMethodIndex() : null);
+        List<MethodNode> methods = new ArrayList<>();
+        if (index != null) {
+            methods.addAll(index.getMethods(selfType));
+        }
+        for (ClassNode category : categories) {
+            if (index == null || !index.isCategory(category)) {
+                methods.addAll(category.getMethods());
+            }
+        }
+
         DGMProposalFilter filter = new DGMProposalFilter();
         List<IGroovyProposal> proposals = new ArrayList<>();
-        for (ClassNode category : categories) {
-            boolean isDefaultCategory = isDefaultCategory(category);
-            for (MethodNode method : category.getMethods()) {
-                // check for DGMs filtered by deprecation or user preference
-                if (isDefaultCategory && (GroovyUtils.isDeprecated(method) || filter.isFiltered(method))) {
-                    continue;
+        for (MethodNode method : methods) {
+            boolean isDefaultCategory = isDefaultCategory(method.getDeclaringClass());
+            // check for DGMs filtered by deprecation or user preference
+            if (isDefaultCategory && (GroovyUtils.isDeprecated(method) || filter.isFiltered(method))) {
+                continue;
+            }
+            String methodName = method.getName();
+            if (method.isStatic() && method.isPublic()) {
+                Parameter[] params = method.getParameters();
+
+                if (params.length > 0 && matcher.test(prefix, methodName) &&
+                        GroovyUtils.isAssignable(selfType, params[0].getType())) {
+                    CategoryMethodProposal proposal = new CategoryMethodProposal(method);
+                    proposal.setRelevanceMultiplier(tweakRelevance(method, selfType));
+                    proposals.add(proposal);
                 }
-                String methodName = method.getName();
-                if (method.isStatic() && method.isPublic()) {
-                    Parameter[] params = method.getParameters();
-
-                    if (params.length > 0 && matcher.test(prefix, methodName) &&
-                            GroovyUtils.isAssignable(selfType, params[0].getType())) {
-                        CategoryMethodProposal proposal = new CategoryMethodProposal(method);
-                        proposal.setRelevanceMultiplier(tweakRelevance(method, selfType));
-                        proposals.add(proposal);
-                    }
 
-                    if (params.length == 1 && findLooselyMatchedAccessorKind(prefix, methodName, true).isAccessorKind(method, true) &&
-                            hasNoField(selfType, methodName) && GroovyUtils.isAssignable(selfType, params[0].getType()) &&
-                            (isStatic || !GeneralUtils.isOrImplements(selfType, VariableScope.MAP_CLASS_NODE)) &&
-                            (isDefaultCategory || !methodName.startsWith("is") || // GROOVY-5245
-                                GroovyUtils.getGroovyVersion().getMajor() > 3)) {
-                        // add property variant of accessor category method
-                        CategoryPropertyProposal proposal = new CategoryPropertyProposal(method);
-                        proposal.setRelevanceMultiplier(tweakRelevance(method, selfType));
-                        proposals.add(proposal);
-                    }
+                if (params.length == 1 && findLooselyMatchedAccessorKind(prefix, methodName, true).isAccessorKind(method, true) &&
+                        hasNoField(selfType, methodName) && GroovyUtils.isAssignable(selfType, params[0].getType()) &&
+                        (isStatic || !GeneralUtils.isOrImplements(selfType, VariableScope.MAP_CLASS_NODE)) &&
+                        (isDefaultCategory || !methodName.startsWith("is") || // GROOVY-5245
+                            GroovyUtils.getGroovyVersion().getMajor() > 3)) {
+                    // add property variant of accessor category method
+                    CategoryPropertyProposal proposal = new CategoryPropertyProposal(method);
+                    proposal.setRelevanceMultiplier(tweakRelevance(method, selfType));
+                    proposals.add(proposal);
                 }
             }
         }
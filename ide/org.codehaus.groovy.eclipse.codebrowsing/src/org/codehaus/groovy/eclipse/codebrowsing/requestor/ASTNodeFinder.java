@@ -34,6 +34,7 @@ import org.codehaus.groovy.ast.MethodNode;
 import org.codehaus.groovy.ast.ModuleNode;
 import org.codehaus.groovy.ast.PackageNode;
 import org.codehaus.groovy.ast.Parameter;
+import org.codehaus.groovy.ast.PropertyNode;
 import org.codehaus.groovy.ast.expr.AnnotationConstantExpression;
 import org.codehaus.groovy.ast.expr.ArgumentListExpression;
 import org.codehaus.groovy.ast.expr.ArrayExpression;
@@ -55,10 +56,12 @@ import org.codehaus.groovy.eclipse.core.util.VisitCompleteException;
 import org.eclipse.jdt.groovy.core.util.ArrayUtils;
 import org.eclipse.jdt.groovy.core.util.DepthFirstVisitor;
 import org.eclipse.jdt.groovy.core.util.GroovyUtils;
+import org.eclipse.jdt.groovy.core.util.SourceRangeIndex;
 
 public class ASTNodeFinder extends DepthFirstVisitor {
 
     protected ModuleNode module;
+    protected SourceRangeIndex index;
     protected ASTNode result;
     protected Region sloc;
 
@@ -71,6 +74,7 @@ public class ASTNodeFinder extends DepthFirstVisitor {
      */
     public ASTNode doVisit(ModuleNode node) {
         module = node;
+        index = SourceRangeIndex.of(node);
         result = null;
         try {
             visitModule(node);
@@ -97,6 +101,8 @@ public class ASTNodeFinder extends DepthFirstVisitor {
 
     @Override
     public void visitClass(ClassNode node) {
+        if (!mayEnclose(node)) return;
+
         if (node.getNameEnd() > 0) {
             checkNameRange(node); // also checks generics
             checkHeader(node); // extends, implements and permits
@@ -105,8 +111,17 @@ public class ASTNodeFinder extends DepthFirstVisitor {
         super.visitClass(node);
     }
 
+    @Override
+    public void visitProperty(PropertyNode node) {
+        if (!mayEnclose(node)) return;
+
+        super.visitProperty(node);
+    }
+
     @Override
     public void visitField(FieldNode node) {
+        if (!mayEnclose(node)) return;
+
         if (node.getNameEnd() > 0) {
             checkNameRange(node);
         }
@@ -129,7 +144,7 @@ public class ASTNodeFinder extends DepthFirstVisitor {
 
     @Override
     public void visitMethod(MethodNode node) {
-        if (node == runMethod) return;
+        if (node == runMethod || !mayEnclose(node)) return;
 
         if (node.getEnd() > 0) {
             if (isNotEmpty(node.getGenericsTypes())) {
@@ -360,6 +375,13 @@ public class ASTNodeFinder extends DepthFirstVisitor {
 
     //--------------------------------------------------------------------------
 
+    /**
+     * Checks if the declaration or anything beneath it may cover the selection.
+     */
+    protected boolean mayEnclose(ASTNode node) {
+        return index == null || index.mayEnclose(node, sloc.getOffset(), sloc.getLength());
+    }
+
     /**
      * Checks if the node covers the selection.
      */
@@ -89,7 +89,7 @@ public class CodeSelectHelper implements ICodeSelectHelper {
 
                     CodeSelectRequestor requestor = createRequestor(node, region, select, unit);
                     TypeInferencingVisitorWithRequestor visitor = new TypeInferencingVisitorFactory().createVisitor(unit);
-                    visitor.visitCompilationUnit(requestor);
+                    visitor.visitEnclosingMember(requestor, select.getOffset(), select.getLength());
                     return requestor.getRequestedElements();
                 }
             } catch (RuntimeException e) {
@@ -128,7 +128,7 @@ public class CodeSelectHelper implements ICodeSelectHelper {
 
                     CodeSelectRequestor requestor = createRequestor(node, region, select, unit);
                     TypeInferencingVisitorWithRequestor visitor = new TypeInferencingVisitorFactory().createVisitor(unit);
-                    visitor.visitCompilationUnit(requestor);
+                    visitor.visitEnclosingMember(requestor, select.getOffset(), select.getLength());
                     return requestor.getRequestedNode();
                 }
             } finally {
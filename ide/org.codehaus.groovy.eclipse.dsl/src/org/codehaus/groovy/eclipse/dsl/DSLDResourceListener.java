@@ -1,5 +1,5 @@
 /*
- * Copyright 2009-2023 the original author or authors.
+ * Copyright 2009-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -31,6 +31,7 @@ import org.eclipse.core.resources.IResourceDeltaVisitor;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.groovy.search.InferenceResultStore;
 
 /**
  * Handles updates and changes of DSLD files
@@ -62,15 +63,47 @@ public class DSLDResourceListener implements IResourceChangeListener {
         }
     }
 
-    public boolean isDSLDFile(IFile file) {
+    public static boolean isDSLDFile(IFile file) {
         return "dsld".equals(file.getFileExtension());
     }
 
-    public boolean isXDSL(IFile file) {
+    public static boolean isXDSL(IFile file) {
         String fileExtension = file.getFileExtension();
         return fileExtension != null && fileExtension.equals(SuggestionsFileProperties.FILE_TYPE);
     }
 
+    /**
+     * Purges the file's contributions from its project's store and, if
+     * {@code reload} is {@code true}, adds its current contributions.
+     */
+    static void processFile(IFile file, boolean reload) {
+        IProject project = file.getProject();
+        DSLDStore store = contextStoreManager.getDSLDStore(project);
+        Assert.isNotNull(store, "Context store should not be null");
+
+        if (GroovyLogManager.manager.hasLoggers()) {
+            GroovyLogManager.manager.log(TraceCategory.DSL, "Processing " + file.getName());
+        }
+        // this file has been changed or deleted. Either way, must
+        // start by purging
+        // if this file diden't exist in the past, then this is a
+        // no-op
+        store.purgeIdentifier(file);
+
+        if (reload) {
+            // also refresh the file
+            if (isDSLDFile(file)) {
+                DSLDScriptExecutor executor = new DSLDScriptExecutor(JavaCore.create(project));
+                executor.executeScript(file);
+            } else if (isXDSL(file)) {
+                // At this point the suggestions should already be in the manager. only contribution groups
+                // and point cuts need to be created
+                new SuggestionsLoader(file).addSuggestionsContributionGroup();
+            }
+        }
+        InferenceResultStore.invalidate(project.getName());
+    }
+
     private class DSLDChangeResourceDeltaVisitor implements IResourceDeltaVisitor {
         private final int eventType;
 
@@ -119,30 +152,9 @@ public class DSLDResourceListener implements IResourceChangeListener {
 
                 IFile file = (IFile) deltaResource;
                 if (isDSLDFile(file) || isXDSL(file)) {
-                    IProject project = file.getProject();
-                    DSLDStore store = contextStoreManager.getDSLDStore(project);
-                    Assert.isNotNull(store, "Context store should not be null");
-
-                    if (GroovyLogManager.manager.hasLoggers()) {
-                        GroovyLogManager.manager.log(TraceCategory.DSL, "Processing " + file.getName());
-                    }
-                    // this file has been changed or deleted. Either way, must
-                    // start by purging
-                    // if this file diden't exist in the past, then this is a
-                    // no-op
-                    store.purgeIdentifier(file);
-
-                    if (file.isAccessible() && eventType == IResourceChangeEvent.POST_CHANGE) {
-                        // also refresh the file
-                        if (isDSLDFile(file)) {
-                            DSLDScriptExecutor executor = new DSLDScriptExecutor(JavaCore.create(project));
-                            executor.executeScript(file);
-                        } else if (isXDSL(file)) {
-                            // At this point the suggestions should already be in the manager. only contribution groups
-                            // and point cuts need to be created
-                            new SuggestionsLoader(file).addSuggestionsContributionGroup();
-                        }
-                    }
+                    // a refresh in progress must see this change as well
+                    contextStoreManager.recordChange(file);
+                    processFile(file, file.isAccessible() && eventType == IResourceChangeEvent.POST_CHANGE);
                 }
             }
 
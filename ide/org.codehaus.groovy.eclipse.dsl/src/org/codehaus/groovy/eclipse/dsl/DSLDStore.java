@@ -16,7 +16,9 @@
 package org.codehaus.groovy.eclipse.dsl;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -24,18 +26,34 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.codehaus.groovy.ast.ASTNode;
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.ast.expr.ConstantExpression;
+import org.codehaus.groovy.ast.expr.VariableExpression;
 import org.codehaus.groovy.eclipse.GroovyLogManager;
 import org.codehaus.groovy.eclipse.TraceCategory;
 import org.codehaus.groovy.eclipse.dsl.contributions.IContributionElement;
 import org.codehaus.groovy.eclipse.dsl.contributions.IContributionGroup;
 import org.codehaus.groovy.eclipse.dsl.pointcuts.GroovyDSLDContext;
 import org.codehaus.groovy.eclipse.dsl.pointcuts.IPointcut;
+import org.codehaus.groovy.eclipse.dsl.pointcuts.impl.AndPointcut;
+import org.codehaus.groovy.eclipse.dsl.pointcuts.impl.CurrentIdentifierPointcut;
+import org.codehaus.groovy.eclipse.dsl.pointcuts.impl.CurrentTypePointcut;
+import org.codehaus.groovy.eclipse.dsl.pointcuts.impl.EnclosingCallNamePointcut;
+import org.codehaus.groovy.eclipse.dsl.pointcuts.impl.EnclosingCallPointcut;
+import org.codehaus.groovy.eclipse.dsl.pointcuts.impl.OrPointcut;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IStorage;
+import org.eclipse.jdt.groovy.search.VariableScope;
+import org.eclipse.jdt.groovy.search.VariableScope.CallAndType;
 import org.eclipse.jdt.internal.core.NonJavaResource;
 
 /**
  * Stores the pointcuts for a single project.
+ * <p>
+ * Pointcuts are matched against an immutable {@link Snapshot} of the store,
+ * so matching does not hold any lock.  The snapshot is discarded on change
+ * and rebuilt by the next match.
  */
 public class DSLDStore {
 
@@ -43,6 +61,8 @@ public class DSLDStore {
     private final Map<IPointcut, List<IContributionGroup>> pointcutContributionMap = new LinkedHashMap<>();
     /** Maps keys (such as script names) to the pointcuts they produce. */
     private final Map<IStorage, Set<IPointcut>> keyContextMap = new HashMap<>();
+    /** Immutable copy of {@link #pointcutContributionMap} or {@code null} if it has changed. */
+    private volatile Snapshot snapshot;
 
     public void addContributionGroup(IPointcut pointcut, IContributionGroup contribution) {
         synchronized (pointcutContributionMap) {
@@ -52,6 +72,7 @@ public class DSLDStore {
                 pointcutContributionMap.put(pointcut, contributions);
             }
             contributions.add(contribution);
+            snapshot = null;
         }
 
         IStorage identifier = pointcut.getContainerIdentifier();
@@ -78,6 +99,7 @@ public class DSLDStore {
                 for (IPointcut pointcut : pointcuts) {
                     pointcutContributionMap.remove(pointcut);
                 }
+                snapshot = null;
             }
         }
     }
@@ -88,6 +110,7 @@ public class DSLDStore {
         }
         synchronized (pointcutContributionMap) {
             pointcutContributionMap.clear();
+            snapshot = null;
         }
     }
 
@@ -102,11 +125,9 @@ public class DSLDStore {
      */
     public DSLDStore createSubStore(GroovyDSLDContext pattern) {
         DSLDStore subStore = new DSLDStore();
-        synchronized (pointcutContributionMap) {
-            for (Map.Entry<IPointcut, List<IContributionGroup>> entry : pointcutContributionMap.entrySet()) {
-                if (entry.getKey().fastMatch(pattern)) {
-                    subStore.addAllContributions(entry.getKey(), entry.getValue());
-                }
+        for (Snapshot.Entry entry : getSnapshot().entries) {
+            if (entry.pointcut.fastMatch(pattern)) {
+                subStore.addAllContributions(entry.pointcut, entry.groups);
             }
         }
         return subStore;
@@ -116,10 +137,11 @@ public class DSLDStore {
         synchronized (pointcutContributionMap) {
             List<IContributionGroup> existing = pointcutContributionMap.get(pointcut);
             if (existing == null) {
-                pointcutContributionMap.put(pointcut, contributions);
+                pointcutContributionMap.put(pointcut, new ArrayList<>(contributions));
             } else {
                 existing.addAll(contributions);
             }
+            snapshot = null;
         }
     }
 
@@ -138,16 +160,16 @@ public class DSLDStore {
      */
     public List<IContributionElement> findContributions(GroovyDSLDContext pattern, Set<String> disabledScripts) {
         List<IContributionElement> elts = new ArrayList<>();
-        synchronized (pointcutContributionMap) {
-            for (Map.Entry<IPointcut, List<IContributionGroup>> entry : pointcutContributionMap.entrySet()) {
-                IPointcut pointcut = entry.getKey();
-                if (!disabledScripts.contains(DSLDStore.toUniqueString(pointcut.getContainerIdentifier()))) {
-                    pattern.resetBinding();
-                    Collection<?> results = pointcut.matches(pattern, pattern.getCurrentType());
-                    if (results != null) {
-                        for (IContributionGroup group : entry.getValue()) {
-                            elts.addAll(group.getContributions(pattern, pattern.getCurrentBinding()));
-                        }
+        Snapshot snapshot = getSnapshot();
+        BitSet candidates = snapshot.findCandidates(pattern);
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            Snapshot.Entry entry = snapshot.entries.get(i);
+            if (!disabledScripts.contains(entry.scriptName)) {
+                pattern.resetBinding();
+                Collection<?> results = entry.pointcut.matches(pattern, pattern.getCurrentType());
+                if (results != null) {
+                    for (IContributionGroup group : entry.groups) {
+                        elts.addAll(group.getContributions(pattern, pattern.getCurrentBinding()));
                     }
                 }
             }
@@ -155,6 +177,19 @@ public class DSLDStore {
         return elts;
     }
 
+    private Snapshot getSnapshot() {
+        Snapshot s = snapshot;
+        if (s == null) {
+            synchronized (pointcutContributionMap) {
+                s = snapshot;
+                if (s == null) {
+                    snapshot = s = new Snapshot(pointcutContributionMap);
+                }
+            }
+        }
+        return s;
+    }
+
     public IStorage[] getAllContextKeys() {
         synchronized (keyContextMap) {
             return keyContextMap.keySet().toArray(new IStorage[0]);
@@ -170,4 +205,172 @@ public class DSLDStore {
             return storage.getName();
         }
     }
+
+    //--------------------------------------------------------------------------
+
+    /**
+     * Immutable copy of the store in which pointcuts are indexed by the current
+     * type name, identifier name or enclosing call name they require, so that
+     * only pointcuts that could match a context are evaluated.
+     */
+    private static final class Snapshot {
+
+        private static final class Entry {
+            final IPointcut pointcut;
+            final List<IContributionGroup> groups;
+            final String scriptName;
+
+            Entry(IPointcut pointcut, List<IContributionGroup> groups) {
+                this.pointcut = pointcut;
+                this.groups = Collections.unmodifiableList(new ArrayList<>(groups));
+                this.scriptName = toUniqueString(pointcut.getContainerIdentifier());
+            }
+        }
+
+        private enum Kind {
+            TYPE, IDENTIFIER, ENCLOSING_CALL
+        }
+
+        private static final class Key {
+            final Kind kind;
+            final Set<String> names;
+
+            Key(Kind kind, Set<String> names) {
+                this.kind = kind;
+                this.names = names;
+            }
+        }
+
+        final List<Entry> entries;
+        /** Entries that could match in any context. */
+        private final BitSet unkeyed = new BitSet();
+        private final Map<String, BitSet> byType = new HashMap<>();
+        private final Map<String, BitSet> byIdentifier = new HashMap<>();
+        private final Map<String, BitSet> byEnclosingCall = new HashMap<>();
+
+        Snapshot(Map<IPointcut, List<IContributionGroup>> pointcutContributionMap) {
+            List<Entry> list = new ArrayList<>(pointcutContributionMap.size());
+            for (Map.Entry<IPointcut, List<IContributionGroup>> entry : pointcutContributionMap.entrySet()) {
+                int index = list.size();
+                list.add(new Entry(entry.getKey(), entry.getValue()));
+
+                Key key = keyOf(entry.getKey());
+                if (key == null) {
+                    unkeyed.set(index);
+                } else {
+                    Map<String, BitSet> map = mapOf(key.kind);
+                    for (String name : key.names) {
+                        map.computeIfAbsent(name, x -> new BitSet()).set(index);
+                    }
+                }
+            }
+            entries = Collections.unmodifiableList(list);
+        }
+
+        /**
+         * @return indexes of the entries whose pointcuts could match the context
+         */
+        BitSet findCandidates(GroovyDSLDContext pattern) {
+            BitSet candidates = (BitSet) unkeyed.clone();
+            if (!byType.isEmpty()) {
+                ClassNode type = pattern.getCurrentType();
+                if (type != null) {
+                    or(candidates, byType.get(type.getName()));
+                }
+            }
+            VariableScope scope = pattern.getCurrentScope();
+            if (scope != null) {
+                if (!byIdentifier.isEmpty()) {
+                    ASTNode node = scope.getCurrentNode();
+                    if (node instanceof VariableExpression || node instanceof ConstantExpression) {
+                        or(candidates, byIdentifier.get(node.getText()));
+                    }
+                }
+                if (!byEnclosingCall.isEmpty()) {
+                    List<CallAndType> calls = scope.getAllEnclosingMethodCallExpressions();
+                    if (calls != null) {
+                        for (CallAndType call : calls) {
+                            String name = call.call.getMethodAsString();
+                            if (name != null) {
+                                or(candidates, byEnclosingCall.get(name));
+                            }
+                        }
+                    }
+                }
+            }
+            return candidates;
+        }
+
+        private Map<String, BitSet> mapOf(Kind kind) {
+            switch (kind) {
+            case TYPE:
+                return byType;
+            case IDENTIFIER:
+                return byIdentifier;
+            default:
+                return byEnclosingCall;
+            }
+        }
+
+        private static void or(BitSet candidates, BitSet matches) {
+            if (matches != null) {
+                candidates.or(matches);
+            }
+        }
+
+        /**
+         * Determines the names that a context must have one of for the given
+         * pointcut to match.
+         *
+         * @return {@code null} if the pointcut could match in any context
+         */
+        private static Key keyOf(IPointcut pointcut) {
+            Class<?> kind = pointcut.getClass();
+            if (kind == CurrentTypePointcut.class) {
+                return nameKey(Kind.TYPE, pointcut.getFirstArgument());
+            }
+            if (kind == CurrentIdentifierPointcut.class) {
+                return nameKey(Kind.IDENTIFIER, pointcut.getFirstArgument());
+            }
+            if (kind == EnclosingCallPointcut.class || kind == EnclosingCallNamePointcut.class) {
+                Object name = pointcut.getFirstArgument();
+                return (name instanceof String ? new Key(Kind.ENCLOSING_CALL, Collections.singleton((String) name)) : null);
+            }
+            if (kind == AndPointcut.class) {
+                // every argument must match, so any one of them will do
+                for (Object argument : pointcut.getArgumentValues()) {
+                    Key key = (argument instanceof IPointcut ? keyOf((IPointcut) argument) : null);
+                    if (key != null) {
+                        return key;
+                    }
+                }
+                return null;
+            }
+            if (kind == OrPointcut.class) {
+                // some argument must match, so all of them need keys of the same kind
+                Kind orKind = null;
+                Set<String> names = new HashSet<>();
+                for (Object argument : pointcut.getArgumentValues()) {
+                    Key key = (argument instanceof IPointcut ? keyOf((IPointcut) argument) : null);
+                    if (key == null || (orKind != null && orKind != key.kind)) {
+                        return null;
+                    }
+                    orKind = key.kind;
+                    names.addAll(key.names);
+                }
+                return (orKind != null ? new Key(orKind, names) : null);
+            }
+            return null;
+        }
+
+        private static Key nameKey(Kind kind, Object name) {
+            if (name instanceof String) {
+                return new Key(kind, Collections.singleton((String) name));
+            }
+            if (name instanceof Class) {
+                return new Key(kind, Collections.singleton(((Class<?>) name).getName()));
+            }
+            return null;
+        }
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2009-2023 the original author or authors.
+ * Copyright 2009-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,11 +24,14 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
 
 import org.codehaus.jdt.groovy.model.GroovyNature;
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.groovy.search.InferenceResultStore;
 
 /**
  * Singleton that manages the {@link DSLDStore}s for all Groovy projects.
@@ -38,25 +41,94 @@ import org.eclipse.core.runtime.jobs.Job;
 public class DSLDStoreManager {
 
     private final Map<String, DSLDStore> dsldStores = new ConcurrentHashMap<>();
+    /** Store being built by this thread; see {@link #refreshDSLDStore}. */
+    private final ThreadLocal<Map.Entry<String, DSLDStore>> pendingStore = new ThreadLocal<>();
+    /** Duration in milliseconds of the last refresh of each project's store. */
+    private final Map<String, Long> refreshTimes = new ConcurrentHashMap<>();
+    /** Files changed while each project's store is being refreshed. */
+    private final Map<String, Set<IFile>> refreshChanges = new ConcurrentHashMap<>();
 
     public String[] getProjectNames() {
         return dsldStores.keySet().toArray(new String[dsldStores.size()]);
     }
 
     public DSLDStore getDSLDStore(final IProject project) {
+        Map.Entry<String, DSLDStore> pending = pendingStore.get();
+        if (pending != null && pending.getKey().equals(project.getName())) {
+            return pending.getValue();
+        }
         return dsldStores.computeIfAbsent(project.getName(), projectName -> new DSLDStore());
     }
 
+    /**
+     * Builds a new store for the project while the current one remains in use.
+     * During {@code refresh}, this thread's requests for the project's store
+     * are answered by the new store.  If {@code refresh} returns {@code true},
+     * the new store replaces the current one in a single step.  DSLD and
+     * suggestions files that changed during {@code refresh} are then processed
+     * again, since {@link DSLDResourceListener} applied those changes to the
+     * store that was current at the time.
+     *
+     * @return {@code true} if the new store was published
+     */
+    boolean refreshDSLDStore(final IProject project, final BooleanSupplier refresh) {
+        long start = System.nanoTime();
+        DSLDStore store = new DSLDStore();
+        Set<IFile> changes = ConcurrentHashMap.newKeySet();
+        refreshChanges.put(project.getName(), changes);
+        pendingStore.set(Map.entry(project.getName(), store));
+        try {
+            if (!refresh.getAsBoolean() || !project.isAccessible()) {
+                return false;
+            }
+            dsldStores.put(project.getName(), store);
+        } finally {
+            pendingStore.remove();
+            // changes after this point are applied to the published store
+            refreshChanges.remove(project.getName(), changes);
+        }
+        // re-apply changes that went to the previous store during the refresh
+        for (IFile file : changes) {
+            DSLDResourceListener.processFile(file, file.isAccessible());
+        }
+        InferenceResultStore.invalidate(project.getName());
+        refreshTimes.put(project.getName(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return true;
+    }
+
+    /**
+     * Records a change to a DSLD or suggestions file so that it can be applied
+     * to a store that is being built for the file's project.
+     */
+    void recordChange(final IFile file) {
+        Set<IFile> changes = refreshChanges.get(file.getProject().getName());
+        if (changes != null) {
+            changes.add(file);
+        }
+    }
+
+    /**
+     * @return duration in milliseconds of the last refresh of the project's
+     *     store or {@code -1} if it has not been refreshed
+     */
+    public long getRefreshTime(final IProject project) {
+        return refreshTimes.getOrDefault(project.getName(), -1L);
+    }
+
     public boolean hasDSLDStoreFor(final IProject project) {
         return dsldStores.containsKey(project.getName());
     }
 
     public void removeDSLDStore(final IProject project) {
         dsldStores.remove(project.getName());
+        refreshTimes.remove(project.getName());
+        InferenceResultStore.invalidate(project.getName());
     }
 
     public void reset() {
         dsldStores.clear();
+        refreshTimes.clear();
+        InferenceResultStore.invalidateAll();
     }
 
     //--------------------------------------------------------------------------
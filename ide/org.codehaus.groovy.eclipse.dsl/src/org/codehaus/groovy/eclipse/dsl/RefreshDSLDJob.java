@@ -1,5 +1,5 @@
 /*
- * Copyright 2009-2023 the original author or authors.
+ * Copyright 2009-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,6 +25,10 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.codehaus.groovy.eclipse.GroovyLogManager;
 import org.codehaus.groovy.eclipse.TraceCategory;
@@ -42,6 +46,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
@@ -98,6 +103,17 @@ public class RefreshDSLDJob extends Job {
         }
     }
 
+    /**
+     * Number of threads that refresh projects concurrently.
+     */
+    private static final int REFRESH_THREADS = Integer.getInteger("greclipse.dsld.refresh.threads",
+        Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    /**
+     * Guards the suggestions model, which is not thread-safe.
+     */
+    private static final Object suggestionsLock = new Object();
+
     @Override
     public IStatus run(final IProgressMonitor monitor) {
         try {
@@ -111,21 +127,58 @@ public class RefreshDSLDJob extends Job {
             SubMonitor submon = SubMonitor.convert(monitor);
             submon.beginTask("Refresh DSLD scripts", projects.size() * 9);
 
-            List<IStatus> errorStatuses = new ArrayList<>();
-            for (IProject project : projects) {
-                IStatus res = Status.OK_STATUS;
+            List<IStatus> statuses = new ArrayList<>(projects.size());
+            int nThreads = Math.min(REFRESH_THREADS, projects.size());
+            if (nThreads < 2) {
+                for (IProject project : projects) {
+                    IStatus res = refreshProjectAndRelease(project, submon.split(9));
+                    if (res == Status.CANCEL_STATUS) {
+                        return res;
+                    }
+                    statuses.add(res);
+                }
+            } else {
+                ExecutorService executor = Executors.newFixedThreadPool(nThreads, runnable -> {
+                    Thread thread = new Thread(runnable, "Refresh DSLD scripts");
+                    thread.setDaemon(true);
+                    return thread;
+                });
                 try {
-                    res = refreshProject(project, submon.split(9));
+                    // progress is reported on this thread; workers only check for cancellation
+                    IProgressMonitor cancelMonitor = new NullProgressMonitor() {
+                        @Override
+                        public boolean isCanceled() {
+                            return submon.isCanceled();
+                        }
+                    };
+                    List<Future<IStatus>> results = new ArrayList<>(projects.size());
+                    for (IProject project : projects) {
+                        results.add(executor.submit(() -> refreshProjectAndRelease(project, cancelMonitor)));
+                    }
+                    for (Future<IStatus> result : results) {
+                        IStatus res = result.get();
+                        if (res == Status.CANCEL_STATUS) {
+                            return res;
+                        }
+                        statuses.add(res);
+                        submon.worked(9);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return Status.CANCEL_STATUS;
+                } catch (ExecutionException e) {
+                    return new Status(IStatus.ERROR, GroovyDSLCoreActivator.PLUGIN_ID, "Error refreshing DSLDs.", e.getCause());
                 } finally {
-                    GroovyDSLCoreActivator.getDefault().getContextStoreManager().removeInProgress(project);
+                    executor.shutdownNow();
                 }
+            }
+
+            List<IStatus> errorStatuses = new ArrayList<>();
+            for (IStatus res : statuses) {
                 if (!res.isOK()) {
                     errorStatuses.add(res);
-                } else if (res == Status.CANCEL_STATUS) {
-                    return res;
                 }
             }
-
             if (errorStatuses.isEmpty()) {
                 return Status.OK_STATUS;
             } else {
@@ -139,6 +192,18 @@ public class RefreshDSLDJob extends Job {
         }
     }
 
+    private IStatus refreshProjectAndRelease(final IProject project, final IProgressMonitor monitor) {
+        try {
+            return refreshProject(project, monitor);
+        } finally {
+            GroovyDSLCoreActivator.getDefault().getContextStoreManager().removeInProgress(project);
+        }
+    }
+
+    /**
+     * Builds a new store for the project from its DSLD and suggestions files.
+     * Inferencing uses the project's current store until the new one is done.
+     */
     private IStatus refreshProject(final IProject project, final IProgressMonitor monitor) {
         String event = null;
         if (GroovyLogManager.manager.hasLoggers()) {
@@ -154,53 +219,51 @@ public class RefreshDSLDJob extends Job {
         }
         monitor.worked(1);
 
-        // purge existing
-        if (GroovyLogManager.manager.hasLoggers()) {
-            GroovyLogManager.manager.log(TraceCategory.DSL, "Purging old state");
-        }
-        DSLDStore store = GroovyDSLCoreActivator.getDefault().getContextStoreManager().getDSLDStore(project);
-        store.purgeAll();
-
-        if (monitor.isCanceled()) {
-            return Status.CANCEL_STATUS;
-        }
-        monitor.worked(1);
-
-        // find dslds
-        if (GroovyLogManager.manager.hasLoggers()) {
-            GroovyLogManager.manager.log(TraceCategory.DSL, "Finding inferencing DSL scripts");
-        }
-        Collection<IStorage> findDSLDFiles = new DSLDResourceVisitor(project).findFiles(monitor);
-
-        if (monitor.isCanceled()) {
-            return Status.CANCEL_STATUS;
-        }
-        monitor.worked(1);
-
-        // now add the rest
-        for (IStorage file : findDSLDFiles) {
+        DSLDStoreManager storeManager = GroovyDSLCoreActivator.getDefault().getContextStoreManager();
+        boolean refreshed = storeManager.refreshDSLDStore(project, () -> {
+            // find dslds
             if (GroovyLogManager.manager.hasLoggers()) {
-                GroovyLogManager.manager.log(TraceCategory.DSL, "Processing " + file.getName() + " in project " + project.getName());
+                GroovyLogManager.manager.log(TraceCategory.DSL, "Finding inferencing DSL scripts");
             }
-            monitor.subTask("Processing " + file.getName() + " in project " + project.getName());
+            Collection<IStorage> findDSLDFiles = new DSLDResourceVisitor(project).findFiles(monitor);
 
-            if (isDSLD(file)) {
-                DSLDScriptExecutor executor = new DSLDScriptExecutor(JavaCore.create(project));
-                executor.executeScript(file);
-            } else if (isSuggestionFile(file)) {
-                new SuggestionsLoader((IFile) file).loadExistingSuggestions();
+            if (monitor.isCanceled()) {
+                return false;
             }
+            monitor.worked(2);
 
-            if (monitor.isCanceled()) {
-                return Status.CANCEL_STATUS;
+            // now add the rest
+            for (IStorage file : findDSLDFiles) {
+                if (GroovyLogManager.manager.hasLoggers()) {
+                    GroovyLogManager.manager.log(TraceCategory.DSL, "Processing " + file.getName() + " in project " + project.getName());
+                }
+                monitor.subTask("Processing " + file.getName() + " in project " + project.getName());
+
+                if (isDSLD(file)) {
+                    DSLDScriptExecutor executor = new DSLDScriptExecutor(JavaCore.create(project));
+                    executor.executeScript(file);
+                } else if (isSuggestionFile(file)) {
+                    synchronized (suggestionsLock) {
+                        new SuggestionsLoader((IFile) file).loadExistingSuggestions();
+                    }
+                }
+
+                if (monitor.isCanceled()) {
+                    return false;
+                }
             }
-        }
-        monitor.worked(6);
+            monitor.worked(6);
+            return true;
+        });
 
         if (event != null) {
+            if (refreshed) {
+                GroovyLogManager.manager.log(TraceCategory.DSL,
+                    "Refreshed inferencing scripts for " + project.getName() + " in " + storeManager.getRefreshTime(project) + "ms");
+            }
             GroovyLogManager.manager.logEnd(event, TraceCategory.DSL);
         }
-        return Status.OK_STATUS;
+        return (refreshed || !monitor.isCanceled() ? Status.OK_STATUS : Status.CANCEL_STATUS);
     }
 
     //--------------------------------------------------------------------------
@@ -18,9 +18,7 @@ package org.codehaus.groovy.eclipse.dsl.pointcuts;
 import static org.eclipse.jdt.groovy.core.util.GroovyUtils.getWrapperTypeIfPrimitive;
 
 import java.util.Collection;
-import java.util.LinkedHashSet;
 import java.util.Map;
-import java.util.Set;
 
 import org.codehaus.groovy.ast.ClassNode;
 import org.codehaus.groovy.ast.ModuleNode;
@@ -30,6 +28,7 @@ import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.groovy.search.TypeHierarchyCache;
 import org.eclipse.jdt.groovy.search.VariableScope;
 
 /**
@@ -80,9 +79,6 @@ public class GroovyDSLDContext {
      */
     private ClassNode targetType;
 
-    /** cached type hierarchy for checking type matches (consider caching more) */
-    private Set<ClassNode> cachedHierarchy;
-
     private boolean isStatic;
 
     private boolean isPrimaryNode;
@@ -216,18 +212,17 @@ public class GroovyDSLDContext {
             return true;
         }
 
-        if (cachedHierarchy == null) {
-            Set<ClassNode> superTypes = new LinkedHashSet<>();
-            VariableScope.createTypeHierarchy(toCheck, superTypes, false);
-            cachedHierarchy = superTypes;
-        }
+        return getTypeHierarchy(toCheck).contains(typeName);
+    }
 
-        for (ClassNode node : cachedHierarchy) {
-            if (typeName.equals(node.getName())) {
-                return true;
-            }
+    /**
+     * @return type hierarchy of {@code type}, shared with the inferencing visit when possible
+     */
+    public TypeHierarchyCache.TypeHierarchy getTypeHierarchy(ClassNode type) {
+        if (currentScope != null) {
+            return currentScope.getTypeHierarchy(type);
         }
-        return false;
+        return new TypeHierarchyCache().get(type);
     }
 
     public void resetBinding() {
@@ -263,7 +258,6 @@ public class GroovyDSLDContext {
             this.isStatic = true; // not a Class instance anymore
         }
         this.targetType = getWrapperTypeIfPrimitive(targetType);
-        cachedHierarchy = null;
     }
 
     @Override
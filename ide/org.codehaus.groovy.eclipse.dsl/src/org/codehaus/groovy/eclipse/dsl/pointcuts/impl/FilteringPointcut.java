@@ -1,5 +1,5 @@
 /*
- * Copyright 2009-2023 the original author or authors.
+ * Copyright 2009-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -45,7 +45,7 @@ public abstract class FilteringPointcut<T> extends AbstractPointcut {
 
     @Override
     public Collection<?> matches(GroovyDSLDContext pattern, Object toMatch) {
-        Collection<T> explodedList = explodeObject(toMatch);
+        Collection<T> explodedList = explodeObject(toMatch, pattern);
         if (explodedList != null && !explodedList.isEmpty()) {
             Object first = getFirstArgument();
             if (first instanceof IPointcut) {
@@ -100,6 +100,14 @@ public abstract class FilteringPointcut<T> extends AbstractPointcut {
      */
     protected abstract T filterObject(T result, GroovyDSLDContext context, String firstArgAsString);
 
+    /**
+     * Converts element to a collection of the {@link #filterBy} type or returns null if no match.
+     * Override to make use of the context in which the pointcut is matched.
+     */
+    protected Collection<T> explodeObject(Object toMatch, GroovyDSLDContext pattern) {
+        return explodeObject(toMatch);
+    }
+
     /**
      * Converts element to a collection of the {@link #filterBy} type or returns null if no match.
      */
@@ -1,5 +1,5 @@
 /*
- * Copyright 2009-2023 the original author or authors.
+ * Copyright 2009-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,14 +17,12 @@ package org.codehaus.groovy.eclipse.dsl.pointcuts.impl;
 
 import java.util.Collection;
 import java.util.LinkedHashSet;
-import java.util.Map;
-import java.util.Set;
-import java.util.WeakHashMap;
+import java.util.List;
 
 import org.codehaus.groovy.ast.ClassNode;
 import org.codehaus.groovy.eclipse.dsl.pointcuts.GroovyDSLDContext;
 import org.eclipse.core.resources.IStorage;
-import org.eclipse.jdt.groovy.search.VariableScope;
+import org.eclipse.jdt.groovy.search.TypeHierarchyCache;
 
 /**
  * Converts the object toMatch into a type and then sees if it is a subtype.
@@ -39,16 +37,21 @@ public class SubTypePointcut extends FilteringPointcut<ClassNode> {
 
     @Override
     protected Collection<ClassNode> explodeObject(Object object) {
+        return explodeObject(object, null);
+    }
+
+    @Override
+    protected Collection<ClassNode> explodeObject(Object object, GroovyDSLDContext pattern) {
         if (object instanceof Collection) {
             Collection<ClassNode> classes = new LinkedHashSet<>();
             for (Object item : (Collection<?>) object) {
                 if (item instanceof ClassNode) {
-                    classes.addAll(getSuperTypes((ClassNode) item));
+                    classes.addAll(getSuperTypes((ClassNode) item, pattern));
                 }
             }
             return classes;
         } else if (object instanceof ClassNode) {
-            return new LinkedHashSet<>(getSuperTypes(((ClassNode) object)));
+            return new LinkedHashSet<>(getSuperTypes((ClassNode) object, pattern));
         }
         return null;
     }
@@ -61,13 +64,10 @@ public class SubTypePointcut extends FilteringPointcut<ClassNode> {
         return null;
     }
 
-    private Set<ClassNode> getSuperTypes(ClassNode type) {
-        return cachedHierarchies.computeIfAbsent(type, t -> {
-            Set<ClassNode> superTypes = new LinkedHashSet<>();
-            VariableScope.createTypeHierarchy(type, superTypes, false);
-            return superTypes;
-        });
+    private static List<ClassNode> getSuperTypes(ClassNode type, GroovyDSLDContext pattern) {
+        if (pattern != null) {
+            return pattern.getTypeHierarchy(type).getTypes();
+        }
+        return new TypeHierarchyCache().get(type).getTypes();
     }
-
-    private Map<ClassNode, Set<ClassNode>> cachedHierarchies = new WeakHashMap<>();
 }
@@ -0,0 +1,427 @@
+/*
+ * Copyright 2009-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.dsl.script;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.GroovySystem;
+
+import org.codehaus.groovy.ast.ModuleNode;
+import org.codehaus.groovy.control.CompilationFailedException;
+import org.codehaus.groovy.control.CompilationUnit;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.control.Phases;
+import org.codehaus.groovy.eclipse.GroovyLogManager;
+import org.codehaus.groovy.eclipse.TraceCategory;
+import org.codehaus.groovy.eclipse.dsl.GroovyDSLCoreActivator;
+import org.codehaus.groovy.tools.GroovyClass;
+
+/**
+ * Caches the classes compiled from DSLD scripts so that a script is compiled
+ * once for all projects that load it and not again after a restart.
+ * <p>
+ * Entries are keyed by a hash of the script name and text and of the Groovy
+ * and DSLD support versions.  DSLD scripts are dynamic Groovy, so compiled
+ * classes refer to other classes by name only; the classes compiled against
+ * one project's loader fit any other loader that resolves the same names the
+ * same way.  Each entry records the names and resources the compiler looked
+ * up and whether they were found, and is only reused by loaders that agree.
+ */
+public final class DSLDScriptCache {
+
+    private static final DSLDScriptCache INSTANCE = new DSLDScriptCache();
+
+    public static DSLDScriptCache getInstance() {
+        return INSTANCE;
+    }
+
+    //--------------------------------------------------------------------------
+
+    /** Version of the file format; bump for incompatible changes. */
+    private static final int FORMAT = 1;
+    /** Maximum number of differently-compiled variants kept for one script. */
+    private static final int MAX_VARIANTS = 4;
+    /** Cache files that have not been used for this long are deleted. */
+    private static final long MAX_IDLE = TimeUnit.DAYS.toMillis(30);
+
+    /** Maximum number of scripts whose compiled classes are kept in memory. */
+    private static final int MAX_ENTRIES = Integer.getInteger("greclipse.dsldScriptCacheSize", 32);
+
+    /**
+     * Compiled classes by script, in access order.  Classes of scripts that have
+     * fallen out (for example, earlier versions of an edited script) are still
+     * found in the cache directory.
+     */
+    private final Map<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private File cacheDir;
+    private boolean cacheDirChecked;
+
+    private DSLDScriptCache() {
+    }
+
+    /**
+     * Returns the script class for the given source, compiling it only if no
+     * compatible classes have been cached.  The classes are defined by a new
+     * loader whose parent is the given loader.
+     *
+     * @throws CompilationFailedException if the script does not compile
+     */
+    public Class<?> loadScriptClass(final String scriptName, final String scriptText, final GroovyClassLoader loader) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.computeIfAbsent(computeKey(scriptName, scriptText), Entry::new);
+        }
+        Variant variant;
+        synchronized (entry) {
+            entry.load(getCacheDir());
+            variant = entry.find(loader);
+            if (variant == null) {
+                variant = compile(scriptName, scriptText, loader);
+                entry.add(variant, getCacheDir());
+            } else if (GroovyLogManager.manager.hasLoggers()) {
+                GroovyLogManager.manager.log(TraceCategory.DSL, "Reusing compiled classes of " + scriptName);
+            }
+        }
+        try {
+            return new ScriptLoader(loader, variant.classes).loadClass(variant.scriptClass);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Forgets all cached classes, including those kept on disk.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+        File dir = getCacheDir();
+        if (dir != null) {
+            File[] files = dir.listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    file.delete();
+                }
+            }
+        }
+    }
+
+    private static Variant compile(final String scriptName, final String scriptText, final GroovyClassLoader loader) {
+        RecordingLoader recorder = new RecordingLoader(loader);
+        CompilationUnit unit = new CompilationUnit(CompilerConfiguration.DEFAULT, null, recorder);
+        unit.addSource(scriptName, scriptText);
+        unit.compile(Phases.CLASS_GENERATION);
+
+        Map<String, byte[]> classes = new LinkedHashMap<>();
+        for (GroovyClass groovyClass : unit.getClasses()) {
+            classes.put(groovyClass.getName(), groovyClass.getBytes());
+        }
+        ModuleNode module = unit.getAST().getModules().get(0);
+        String scriptClass = module.getClasses().get(0).getName();
+
+        return new Variant(new LinkedHashMap<>(recorder.lookups), scriptClass, classes);
+    }
+
+    private static String computeKey(final String scriptName, final String scriptText) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : new String[] {GroovySystem.getVersion(), getBundleVersion(), scriptName, scriptText}) {
+                digest.update(part.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            StringBuilder key = new StringBuilder();
+            for (byte b : digest.digest()) {
+                key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String getBundleVersion() {
+        GroovyDSLCoreActivator plugin = GroovyDSLCoreActivator.getDefault();
+        return (plugin != null ? plugin.getBundle().getVersion().toString() : "");
+    }
+
+    /**
+     * @return directory for cache files or {@code null} if there is none
+     */
+    private synchronized File getCacheDir() {
+        if (!cacheDirChecked) {
+            cacheDirChecked = true;
+            try {
+                File dir = GroovyDSLCoreActivator.getDefault().getStateLocation().append("dsld-classes").toFile();
+                if (dir.isDirectory() || dir.mkdirs()) {
+                    long oldest = System.currentTimeMillis() - MAX_IDLE;
+                    File[] files = dir.listFiles();
+                    if (files != null) {
+                        for (File file : files) {
+                            if (file.lastModified() < oldest) {
+                                file.delete();
+                            }
+                        }
+                    }
+                    cacheDir = dir;
+                }
+            } catch (RuntimeException e) {
+                // no state location; keep cache in memory only
+            }
+        }
+        return cacheDir;
+    }
+
+    //--------------------------------------------------------------------------
+
+    private static final class Entry {
+
+        private final String key;
+        private final List<Variant> variants = new ArrayList<>(1);
+        private boolean loaded;
+
+        Entry(final String key) {
+            this.key = key;
+        }
+
+        Variant find(final ClassLoader loader) {
+            for (Variant variant : variants) {
+                if (variant.isCompatible(loader)) {
+                    return variant;
+                }
+            }
+            return null;
+        }
+
+        void add(final Variant variant, final File dir) {
+            variants.add(0, variant);
+            if (variants.size() > MAX_VARIANTS) {
+                variants.remove(MAX_VARIANTS);
+            }
+            if (dir != null) {
+                File file = new File(dir, key);
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+                    out.writeInt(FORMAT);
+                    out.writeInt(variants.size());
+                    for (Variant v : variants) {
+                        v.write(out);
+                    }
+                } catch (IOException e) {
+                    file.delete();
+                    GroovyDSLCoreActivator.logException("Failed to write DSLD class cache", e);
+                }
+            }
+        }
+
+        void load(final File dir) {
+            if (!loaded) {
+                loaded = true;
+                File file = (dir != null ? new File(dir, key) : null);
+                if (file != null && file.isFile()) {
+                    try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+                        if (in.readInt() == FORMAT) {
+                            for (int i = 0, n = in.readInt(); i < n; i += 1) {
+                                variants.add(Variant.read(in));
+                            }
+                        }
+                        file.setLastModified(System.currentTimeMillis());
+                    } catch (IOException e) {
+                        variants.clear();
+                        file.delete();
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class Variant {
+
+        /** Maps lookups made by the compiler to their results; see {@link RecordingLoader}. */
+        final Map<String, String> lookups;
+        final String scriptClass;
+        final Map<String, byte[]> classes;
+
+        Variant(final Map<String, String> lookups, final String scriptClass, final Map<String, byte[]> classes) {
+            this.lookups = lookups;
+            this.scriptClass = scriptClass;
+            this.classes = classes;
+        }
+
+        boolean isCompatible(final ClassLoader loader) {
+            for (Map.Entry<String, String> lookup : lookups.entrySet()) {
+                if (!lookup.getValue().equals(RecordingLoader.lookup(loader, lookup.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void write(final DataOutputStream out) throws IOException {
+            out.writeInt(lookups.size());
+            for (Map.Entry<String, String> lookup : lookups.entrySet()) {
+                out.writeUTF(lookup.getKey());
+                out.writeUTF(lookup.getValue());
+            }
+            out.writeUTF(scriptClass);
+            out.writeInt(classes.size());
+            for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue().length);
+                out.write(entry.getValue());
+            }
+        }
+
+        static Variant read(final DataInputStream in) throws IOException {
+            Map<String, String> lookups = new LinkedHashMap<>();
+            for (int i = 0, n = in.readInt(); i < n; i += 1) {
+                lookups.put(in.readUTF(), in.readUTF());
+            }
+            String scriptClass = in.readUTF();
+            Map<String, byte[]> classes = new LinkedHashMap<>();
+            for (int i = 0, n = in.readInt(); i < n; i += 1) {
+                String name = in.readUTF();
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                classes.put(name, bytes);
+            }
+            return new Variant(lookups, scriptClass, classes);
+        }
+    }
+
+    /**
+     * Records the class and resource lookups of the compiler.  Lookups are
+     * keyed by kind and name: "class:" for classes, "resource:" for a single
+     * resource and "resources:" for all resources of a name (for instance the
+     * global transform service descriptors).
+     */
+    private static final class RecordingLoader extends GroovyClassLoader {
+
+        final Map<String, String> lookups = Collections.synchronizedMap(new LinkedHashMap<>());
+
+        RecordingLoader(final ClassLoader parent) {
+            super(parent);
+        }
+
+        /**
+         * Repeats a recorded lookup using the given loader.
+         */
+        static String lookup(final ClassLoader loader, final String key) {
+            int i = key.indexOf(':');
+            String kind = key.substring(0, i), name = key.substring(i + 1);
+            switch (kind) {
+            case "class":
+                try {
+                    Class.forName(name, false, loader);
+                    return "1";
+                } catch (ClassNotFoundException | LinkageError e) {
+                    return "0";
+                }
+            case "resource":
+                return (loader.getResource(name) != null ? "1" : "0");
+            default:
+                try {
+                    return toString(loader.getResources(name));
+                } catch (IOException e) {
+                    return null;
+                }
+            }
+        }
+
+        private static String toString(final Enumeration<URL> urls) {
+            StringBuilder sb = new StringBuilder();
+            while (urls.hasMoreElements()) {
+                sb.append(urls.nextElement()).append('\n');
+            }
+            return sb.toString();
+        }
+
+        @Override
+        @SuppressWarnings("rawtypes")
+        public Class loadClass(final String name, final boolean lookupScriptFiles, final boolean preferClassOverScript, final boolean resolve) throws ClassNotFoundException {
+            try {
+                Class<?> type = super.loadClass(name, lookupScriptFiles, preferClassOverScript, resolve);
+                lookups.putIfAbsent("class:" + name, "1");
+                return type;
+            } catch (ClassNotFoundException | LinkageError e) {
+                lookups.putIfAbsent("class:" + name, "0");
+                throw e;
+            }
+        }
+
+        @Override
+        public URL getResource(final String name) {
+            URL url = super.getResource(name);
+            lookups.putIfAbsent("resource:" + name, url != null ? "1" : "0");
+            return url;
+        }
+
+        @Override
+        public Enumeration<URL> getResources(final String name) throws IOException {
+            List<URL> urls = Collections.list(super.getResources(name));
+            lookups.putIfAbsent("resources:" + name, toString(Collections.enumeration(urls)));
+            return Collections.enumeration(urls);
+        }
+    }
+
+    /**
+     * Defines the cached classes of a script on demand.
+     */
+    private static final class ScriptLoader extends GroovyClassLoader {
+
+        private final Map<String, byte[]> classes;
+
+        ScriptLoader(final ClassLoader parent, final Map<String, byte[]> classes) {
+            super(parent);
+            this.classes = classes;
+        }
+
+        @Override
+        protected Class<?> findClass(final String name) throws ClassNotFoundException {
+            byte[] bytes = classes.get(name);
+            if (bytes != null) {
+                return defineClass(name, bytes);
+            }
+            return super.findClass(name);
+        }
+    }
+}
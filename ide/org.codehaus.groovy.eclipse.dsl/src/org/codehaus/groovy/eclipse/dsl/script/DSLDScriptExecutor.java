@@ -74,7 +74,7 @@ public class DSLDScriptExecutor {
                 @SuppressWarnings("rawtypes")
                 Class scriptType = null;
                 try {
-                    scriptType = classLoader.parseClass(scriptText, scriptName);
+                    scriptType = DSLDScriptCache.getInstance().loadScriptClass(scriptName, scriptText, classLoader);
                 } catch (AssertionError | LinkageError | Exception e) {
                     if (GroovyLogManager.manager.hasLoggers()) {
                         StringWriter writer = new StringWriter();
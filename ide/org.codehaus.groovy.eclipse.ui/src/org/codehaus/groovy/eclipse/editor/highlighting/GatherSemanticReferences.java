@@ -40,7 +40,7 @@ public class GatherSemanticReferences {
         if (unit != null) {
             SemanticHighlightingReferenceRequestor requestor = new SemanticHighlightingReferenceRequestor(unit);
             TypeInferencingVisitorWithRequestor visitor = factory.createVisitor(unit);
-            visitor.visitCompilationUnit(requestor);
+            visitor.replayCompilationUnit(requestor);
             return requestor.typedPositions;
         }
         return Collections.emptySet();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2009-2023 the original author or authors.
+ * Copyright 2009-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -93,6 +93,15 @@ public class SemanticHighlightingReferenceRequestor extends SemanticReferenceReq
         this.unit = unit;
     }
 
+    /**
+     * Positions come from the visited nodes, which keep their offsets when
+     * carried over from an earlier module node.
+     */
+    @Override
+    public boolean acceptsCarriedResults() {
+        return true;
+    }
+
     // be sure to call this before referencing contents array
     private int unitLength() {
         if (contents == null) {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2009-2019 the original author or authors.
+ * Copyright 2009-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,77 +18,241 @@ package org.codehaus.groovy.eclipse.editor.mining;
 import static org.codehaus.groovy.runtime.DefaultGroovyMethods.asBoolean;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
 
 import org.codehaus.groovy.ast.ASTNode;
 import org.codehaus.groovy.ast.MethodNode;
+import org.codehaus.groovy.ast.ModuleNode;
 import org.codehaus.groovy.ast.Parameter;
 import org.codehaus.groovy.ast.expr.ArgumentListExpression;
 import org.codehaus.groovy.ast.expr.ConstantExpression;
 import org.codehaus.groovy.ast.expr.Expression;
 import org.codehaus.groovy.ast.expr.MethodCall;
+import org.codehaus.groovy.ast.expr.MethodCallExpression;
+import org.codehaus.groovy.eclipse.GroovyPlugin;
 import org.codehaus.jdt.groovy.ast.MethodNodeWithNamedParams;
 import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IParent;
+import org.eclipse.jdt.core.ISourceRange;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.groovy.core.util.GroovyUtils;
+import org.eclipse.jdt.groovy.search.ITypeRequestor;
 import org.eclipse.jdt.groovy.search.ITypeRequestor.VisitStatus;
 import org.eclipse.jdt.groovy.search.TypeInferencingVisitorFactory;
 import org.eclipse.jdt.groovy.search.TypeInferencingVisitorWithRequestor;
 import org.eclipse.jdt.groovy.search.TypeLookupResult;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextViewer;
+import org.eclipse.jface.text.IViewportListener;
 import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.codemining.AbstractCodeMiningProvider;
 import org.eclipse.jface.text.codemining.ICodeMining;
 import org.eclipse.jface.text.codemining.LineContentCodeMining;
+import org.eclipse.jface.text.source.ISourceViewerExtension5;
+import org.eclipse.swt.custom.StyledText;
 
+/**
+ * Provides parameter name code minings for the arguments of method calls.
+ * <p>
+ * Only the fields and methods that overlap the viewer's visible region, plus
+ * a page above and below, are inferred.  The names found for each of them are
+ * kept until the module node is replaced by a reconcile.  When the viewport
+ * leaves the region of the last request, the request is cancelled and the
+ * minings are updated for the new region.
+ */
 public class MethodParameterCodeMiningProvider extends AbstractCodeMiningProvider {
 
     // TODO: "argN" from org.codehaus.jdt.groovy.internal.compiler.ast.JDTClassNode.makeParameter(TypeBinding, char[][])
     // TODO: "argN" from org.codehaus.groovy.vmplugin.v5.Java5.makeParameter(CompileUnit, Type, Class, Annotation[], Member)
     // TODO: "pN" org.codehaus.groovy.classgen.InnerClassVisitor.visitConstructorCallExpression(ConstructorCallExpression)
 
+    /** Parameter names of the calls within each field or method (or the whole unit) of {@link #cachedModule}. */
+    private final Map<Object, List<ParameterName>> cache = new ConcurrentHashMap<>();
+    private volatile ModuleNode cachedModule;
+
+    /** Incremented to cancel the request in progress. */
+    private final AtomicInteger requests = new AtomicInteger();
+
+    /** Document region of the last request, or {@code null} for all of it. */
+    private volatile IRegion requestRegion;
+
+    private volatile ITextViewer viewer;
+    private final IViewportListener viewportListener = verticalOffset -> viewportChanged();
+
     @Override
-    public CompletableFuture<List<? extends ICodeMining>> provideCodeMinings(ITextViewer viewer, IProgressMonitor monitor) {
+    public CompletableFuture<List<? extends ICodeMining>> provideCodeMinings(final ITextViewer viewer, final IProgressMonitor monitor) {
+        int request = requests.incrementAndGet();
+        BooleanSupplier isCanceled = () -> monitor.isCanceled() || requests.get() != request;
+
+        IRegion region = syncExec(viewer, () -> {
+            if (this.viewer == null) {
+                this.viewer = viewer;
+                viewer.addViewportListener(viewportListener);
+            }
+            return getVisibleRegion(viewer, true);
+        });
+        requestRegion = region;
+
         return CompletableFuture.supplyAsync(() -> {
-            if (!monitor.isCanceled()) {
+            if (!isCanceled.getAsBoolean()) {
                 GroovyCompilationUnit compilationUnit = getAdapter(GroovyCompilationUnit.class);
                 if (compilationUnit != null && compilationUnit.isConsistent() /*&& compilationUnit.isStructureKnown()*/) {
-                    final int[] lastLine = new int[1];
-                    List<ICodeMining> codeMinings = new ArrayList<>();
-                    TypeInferencingVisitorWithRequestor codeVisitor = new TypeInferencingVisitorFactory().createVisitor(compilationUnit);
-                    codeVisitor.visitCompilationUnit((ASTNode node, TypeLookupResult result, org.eclipse.jdt.core.IJavaElement enclosingElement) -> {
-                        if (node.getEnd() > 0 && !(node instanceof MethodNode) && result.declaration instanceof MethodNode && asBoolean(((MethodNode) result.declaration).getParameters())) {
-                            MethodCall methodCall = null;
-                            if (node instanceof MethodCall) {
-                                methodCall = (MethodCall) node;
-                            } else if (node instanceof ConstantExpression && result.scope.getEnclosingNode() instanceof MethodCall) {
-                                methodCall = (MethodCall) result.scope.getEnclosingNode();
-                                assert node.getText().equals(methodCall.getMethodAsString());
-                            }
-
-                            if (methodCall != null) {
-                                provideMethodCallCodeMinings(codeMinings, methodCall, (MethodNode) result.declaration, result.isGroovy);
-                            }
-
-                            // check cancel no more than once per line
-                            if (node.getLineNumber() > lastLine[0]) {
-                                lastLine[0] = node.getLineNumber();
-                                if (monitor.isCanceled()) {
-                                    return VisitStatus.STOP_VISIT;
-                                }
-                            }
-                        }
-                        return VisitStatus.CONTINUE;
-                    });
-
-                    return codeMinings;
+                    try {
+                        return provideCodeMinings(compilationUnit, region, isCanceled);
+                    } catch (JavaModelException e) {
+                        GroovyPlugin.getDefault().logError("Error providing parameter names for " + compilationUnit.getElementName(), e);
+                    }
                 }
             }
             return null;
         });
     }
 
-    private void provideMethodCallCodeMinings(List<ICodeMining> codeMinings, MethodCall methodCall, MethodNode methodNode, boolean isGroovyMethod) {
+    private List<ICodeMining> provideCodeMinings(final GroovyCompilationUnit compilationUnit, final IRegion region, final BooleanSupplier isCanceled) throws JavaModelException {
+        ModuleNode module = compilationUnit.getModuleNode();
+        if (module == null) {
+            return null;
+        }
+        synchronized (cache) {
+            if (module != cachedModule) {
+                cache.clear();
+                cachedModule = module;
+            }
+        }
+
+        List<ICodeMining> codeMinings = new ArrayList<>();
+        if (module.getClasses().stream().anyMatch(GroovyUtils::isScript)) {
+            // script statements are not members; visit the whole unit once
+            List<ParameterName> names = getParameterNames(compilationUnit, compilationUnit, null, isCanceled);
+            if (names == null) {
+                return null; // canceled
+            }
+            for (ParameterName name : names) {
+                if (region == null || overlaps(region, name.offset, 1)) {
+                    codeMinings.add(newMethodParameterCodeMining(name));
+                }
+            }
+        } else {
+            List<IMember> members = new ArrayList<>();
+            collectMembers(compilationUnit, members);
+            for (IMember member : members) {
+                ISourceRange range = member.getSourceRange();
+                if (range != null && (region == null || overlaps(region, range.getOffset(), range.getLength()))) {
+                    List<ParameterName> names = getParameterNames(compilationUnit, member, range, isCanceled);
+                    if (names == null) {
+                        return null; // canceled; partial minings would replace the current ones
+                    }
+                    for (ParameterName name : names) {
+                        codeMinings.add(newMethodParameterCodeMining(name));
+                    }
+                }
+            }
+        }
+        return codeMinings;
+    }
+
+    /**
+     * Collects the fields, methods and initializers of the top-level and member types.
+     * Local and anonymous types are visited as part of their enclosing member.  An
+     * initializer is visited with the constructors of its type, not the whole unit.
+     */
+    private static void collectMembers(final IParent parent, final List<IMember> members) throws JavaModelException {
+        for (IJavaElement child : parent.getChildren()) {
+            switch (child.getElementType()) {
+            case IJavaElement.TYPE:
+                collectMembers((IType) child, members);
+                break;
+            case IJavaElement.FIELD:
+            case IJavaElement.METHOD:
+            case IJavaElement.INITIALIZER:
+                members.add((IMember) child);
+                break;
+            }
+        }
+    }
+
+    /**
+     * @param declaration field, method or initializer to infer, or compilation unit for a complete visit
+     * @param range source range of {@code declaration}, or {@code null} for a complete visit
+     * @return parameter names of the calls within {@code declaration}, or {@code null} if canceled
+     */
+    private List<ParameterName> getParameterNames(final GroovyCompilationUnit compilationUnit, final Object declaration, final ISourceRange range, final BooleanSupplier isCanceled) throws JavaModelException {
+        List<ParameterName> names = cache.get(declaration);
+        if (names != null) {
+            return names;
+        }
+
+        final int[] lastLine = new int[1];
+        List<ParameterName> parameterNames = new ArrayList<>();
+        // method name expressions are visited before their call expression
+        Map<ASTNode, TypeLookupResult> methodNames = new IdentityHashMap<>();
+        ITypeRequestor requestor = (ASTNode node, TypeLookupResult result, IJavaElement enclosingElement) -> {
+            if (range != null && (node.getStart() < range.getOffset() || node.getEnd() > range.getOffset() + range.getLength())) {
+                // visited for the variable scope of the enclosing type
+            } else if (node instanceof MethodCallExpression) {
+                TypeLookupResult methodName = methodNames.remove(((MethodCallExpression) node).getMethod());
+                if (methodName != null) {
+                    provideMethodCallParameterNames(parameterNames, (MethodCall) node, (MethodNode) methodName.declaration, methodName.isGroovy);
+                } else if (node.getEnd() > 0 && result.declaration instanceof MethodNode && asBoolean(((MethodNode) result.declaration).getParameters())) {
+                    provideMethodCallParameterNames(parameterNames, (MethodCall) node, (MethodNode) result.declaration, result.isGroovy);
+                }
+            } else if (node.getEnd() > 0 && !(node instanceof MethodNode) && result.declaration instanceof MethodNode && asBoolean(((MethodNode) result.declaration).getParameters())) {
+                if (node instanceof MethodCall) {
+                    provideMethodCallParameterNames(parameterNames, (MethodCall) node, (MethodNode) result.declaration, result.isGroovy);
+                } else if (node instanceof ConstantExpression) {
+                    methodNames.put(node, result);
+                }
+
+                // check cancel no more than once per line
+                if (node.getLineNumber() > lastLine[0]) {
+                    lastLine[0] = node.getLineNumber();
+                    if (isCanceled.getAsBoolean()) {
+                        return VisitStatus.STOP_VISIT;
+                    }
+                }
+            }
+            return VisitStatus.CONTINUE;
+        };
+
+        TypeInferencingVisitorWithRequestor codeVisitor = new TypeInferencingVisitorFactory().createVisitor(compilationUnit);
+        if (range == null) {
+            codeVisitor.replayCompilationUnit(ITypeRequestor.acceptingCarriedResults(requestor));
+        } else {
+            ISourceRange nameRange = ((IMember) declaration).getNameRange();
+            if (nameRange == null || nameRange.getOffset() < 0) {
+                nameRange = range;
+            }
+            codeVisitor.visitEnclosingMember(requestor, nameRange.getOffset(), nameRange.getLength());
+        }
+
+        if (isCanceled.getAsBoolean()) {
+            return null;
+        }
+        names = Collections.unmodifiableList(parameterNames);
+        synchronized (cache) {
+            if (compilationUnit.getModuleNode() == cachedModule) {
+                cache.put(declaration, names);
+            }
+        }
+        return names;
+    }
+
+    private void provideMethodCallParameterNames(final List<ParameterName> parameterNames, final MethodCall methodCall, final MethodNode methodNode, final boolean isGroovyMethod) {
         if (methodCall.getArguments() instanceof ArgumentListExpression) {
             //System.err.printf("name:%s, text:%s%n", methodCall.getMethodAsString(), methodCall.getText());
             // TODO: Calls to Closures are seen as method calls: "def code = { a, b -> ... }; code(1, 2);"
@@ -101,14 +265,108 @@ public class MethodParameterCodeMiningProvider extends AbstractCodeMiningProvide
             for (Expression argument : (ArgumentListExpression) methodCall.getArguments()) {
                 //if (argument instanceof MapExpression) continue; // try to skip named args
                 Parameter parameter = parameters[Math.min(i++, parameters.length - 1)];
-                codeMinings.add(newMethodParameterCodeMining(argument, parameter));
+                parameterNames.add(new ParameterName(argument.getStart(), parameter.getName() + ':'));
             }
         }
     }
 
-    private ICodeMining newMethodParameterCodeMining(Expression argument, Parameter parameter) {
-        LineContentCodeMining codeMining = new LineContentCodeMining(new Position(argument.getStart(), 1), this) {};
-        codeMining.setLabel(parameter.getName() + ':');
+    private ICodeMining newMethodParameterCodeMining(final ParameterName name) {
+        LineContentCodeMining codeMining = new LineContentCodeMining(new Position(name.offset, 1), this) {};
+        codeMining.setLabel(name.label);
         return codeMining;
     }
+
+    //--------------------------------------------------------------------------
+
+    private void viewportChanged() {
+        IRegion region = requestRegion;
+        if (region != null && viewer instanceof ISourceViewerExtension5) {
+            IRegion visible = getVisibleRegion(viewer, false);
+            if (visible == null || !contains(region, visible)) {
+                requestRegion = null;
+                requests.incrementAndGet(); // cancel
+                ((ISourceViewerExtension5) viewer).updateCodeMinings();
+            }
+        }
+    }
+
+    /**
+     * @param withMargin include one page above and below the visible lines
+     * @return document region shown by the viewer, or {@code null} if unknown
+     */
+    private static IRegion getVisibleRegion(final ITextViewer viewer, final boolean withMargin) {
+        IDocument document = viewer.getDocument();
+        StyledText widget = viewer.getTextWidget();
+        if (document == null || widget == null || widget.isDisposed()) {
+            return null;
+        }
+        try {
+            int start = viewer.getTopIndexStartOffset(), end = viewer.getBottomIndexEndOffset();
+            if (withMargin) {
+                int firstLine = document.getLineOfOffset(start), lastLine = document.getLineOfOffset(end);
+                int margin = lastLine - firstLine + 1;
+                start = document.getLineOffset(Math.max(0, firstLine - margin));
+                IRegion line = document.getLineInformation(Math.min(document.getNumberOfLines() - 1, lastLine + margin));
+                end = line.getOffset() + line.getLength();
+            }
+            return new Region(start, end - start);
+        } catch (BadLocationException e) {
+            return null;
+        }
+    }
+
+    private static boolean overlaps(final IRegion region, final int offset, final int length) {
+        return offset <= region.getOffset() + region.getLength() && offset + length >= region.getOffset();
+    }
+
+    private static boolean contains(final IRegion region, final IRegion other) {
+        return other.getOffset() >= region.getOffset() &&
+            other.getOffset() + other.getLength() <= region.getOffset() + region.getLength();
+    }
+
+    private static <T> T syncExec(final ITextViewer viewer, final Supplier<T> supplier) {
+        StyledText widget = viewer.getTextWidget();
+        if (widget == null || widget.isDisposed()) {
+            return null;
+        }
+        if (widget.getDisplay().getThread() == Thread.currentThread()) {
+            return supplier.get();
+        }
+        List<T> result = new ArrayList<>(1);
+        widget.getDisplay().syncExec(() -> {
+            if (!widget.isDisposed()) {
+                result.add(supplier.get());
+            }
+        });
+        return result.isEmpty() ? null : result.get(0);
+    }
+
+    @Override
+    public void dispose() {
+        requests.incrementAndGet(); // cancel
+        ITextViewer v = viewer;
+        if (v != null) {
+            viewer = null;
+            StyledText widget = v.getTextWidget();
+            if (widget != null && !widget.isDisposed()) {
+                widget.getDisplay().asyncExec(() -> v.removeViewportListener(viewportListener));
+            }
+        }
+        cache.clear();
+        cachedModule = null;
+        super.dispose();
+    }
+
+    //--------------------------------------------------------------------------
+
+    private static final class ParameterName {
+
+        final int offset;
+        final String label;
+
+        ParameterName(final int offset, final String label) {
+            this.offset = offset;
+            this.label = label;
+        }
+    }
 }
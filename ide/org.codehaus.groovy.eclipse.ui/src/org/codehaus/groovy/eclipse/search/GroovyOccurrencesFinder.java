@@ -135,7 +135,7 @@ public class GroovyOccurrencesFinder implements IOccurrencesFinder {
                 !(nodeToLookFor instanceof MethodCallExpression)) {
             FindAllReferencesRequestor requestor = new FindAllReferencesRequestor(nodeToLookFor);
             TypeInferencingVisitorWithRequestor visitor = new TypeInferencingVisitorFactory().createVisitor(gunit);
-            visitor.visitCompilationUnit(requestor);
+            visitor.replayCompilationUnit(requestor);
             Map<ASTNode, Integer> occurences = requestor.getReferences();
             return occurences;
         }
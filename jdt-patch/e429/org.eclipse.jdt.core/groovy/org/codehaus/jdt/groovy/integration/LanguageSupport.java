@@ -17,8 +17,10 @@ package org.codehaus.jdt.groovy.integration;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.core.IClassFile;
 import org.eclipse.jdt.core.IJavaElement;
@@ -122,6 +124,38 @@ public interface LanguageSupport {
 	 */
 	boolean maybePerformDelegatedSearch(PossibleMatch possibleMatch, SearchPattern pattern, SearchRequestor requestor);
 
+	/**
+	 * Starts the searches for several possible matches that special language support
+	 * may perform ahead of time and concurrently.  The results of each search are sent
+	 * to the SearchRequestor that is passed in when it is {@link DelegatedSearch#perform
+	 * performed}, so they are reported in the same order and on the same thread as the
+	 * results of {@link #maybePerformDelegatedSearch(PossibleMatch, SearchPattern, SearchRequestor)}.
+	 * @param possibleMatches the possible matches that are likely to be performed
+	 * @param pattern
+	 * @param requestor the requestor to send any completed search results to
+	 * @param monitor checked for cancellation while waiting for a search; may be null
+	 */
+	default DelegatedSearch startDelegatedSearch(List<PossibleMatch> possibleMatches, SearchPattern pattern, SearchRequestor requestor, IProgressMonitor monitor) {
+		return possibleMatch -> maybePerformDelegatedSearch(possibleMatch, pattern, requestor);
+	}
+
+	interface DelegatedSearch extends AutoCloseable {
+		/**
+		 * Performs the search for the possible match, or completes it if it was started
+		 * ahead of time, and sends the results to the requestor.
+		 * @return true iff the search was performed
+		 * @throws CoreException if the requestor fails to accept a result found ahead of time
+		 */
+		boolean perform(PossibleMatch possibleMatch) throws CoreException;
+
+		/**
+		 * Abandons the searches that have not been performed.
+		 */
+		@Override
+		default void close() {
+		}
+	}
+
 	EventHandler getEventHandler();
 
 	void filterNonSourceMembers(BinaryType binaryType);
@@ -31,6 +31,7 @@ import java.util.Map;
 import java.util.regex.Pattern;
 import java.util.zip.ZipFile;
 
+import org.codehaus.jdt.groovy.integration.LanguageSupport;
 import org.codehaus.jdt.groovy.integration.LanguageSupportFactory;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.*;
@@ -1297,6 +1298,7 @@ protected void locateMatches(JavaProject javaProject, PossibleMatch[] possibleMa
 	// GROOVY add
 	final boolean isInterestingProject = LanguageSupportFactory.isInterestingProject(javaProject.getProject());
 	HashSet<PossibleMatch> alreadyMatched = new HashSet<>();
+	LanguageSupport.DelegatedSearch delegatedSearch = null;
 	// GROOVY end
 	// create and resolve binding (equivalent to beginCompilation() in Compiler)
 	boolean mustResolvePattern = this.pattern.mustResolve;
@@ -1304,11 +1306,23 @@ protected void locateMatches(JavaProject javaProject, PossibleMatch[] possibleMa
 	this.patternLocator.mayBeGeneric = this.options.sourceLevel >= ClassFileConstants.JDK1_5;
 	boolean bindingsWereCreated = mustResolve;
 	try {
+		// GROOVY add -- language support may start searching interesting source files ahead of the loop
+		if (isInterestingProject) {
+			List<PossibleMatch> interestingMatches = new ArrayList<>();
+			for (int i = start, maxUnits = start + length; i < maxUnits; i++) {
+				PossibleMatch possibleMatch = possibleMatches[i];
+				if (possibleMatch.isInterestingSourceFile() && !skipMatch(javaProject, possibleMatch)) {
+					interestingMatches.add(possibleMatch);
+				}
+			}
+			delegatedSearch = LanguageSupportFactory.startDelegatedSearch(interestingMatches, this.pattern, this.requestor, this.progressMonitor);
+		}
+		// GROOVY end
 		for (int i = start, maxUnits = start + length; i < maxUnits; i++) {
 			PossibleMatch possibleMatch = possibleMatches[i];
 			if (skipMatch(javaProject, possibleMatch)) continue;
 			// GROOVY add
-			if (isInterestingProject && possibleMatch.isInterestingSourceFile() && LanguageSupportFactory.maybePerformDelegatedSearch(possibleMatch, this.pattern, this.requestor)) {
+			if (isInterestingProject && possibleMatch.isInterestingSourceFile() && delegatedSearch.perform(possibleMatch)) {
 				alreadyMatched.add(possibleMatch);
 			}
 			// GROOVY end
@@ -1368,6 +1382,11 @@ protected void locateMatches(JavaProject javaProject, PossibleMatch[] possibleMa
 	} catch (AbortCompilation e) {
 		bindingsWereCreated = false;
 	}
+	// GROOVY add
+	finally {
+		if (delegatedSearch != null) delegatedSearch.close();
+	}
+	// GROOVY end
 
 	if (!mustResolve) {
 		return;